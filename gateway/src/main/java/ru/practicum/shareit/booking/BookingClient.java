@@ -4,12 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.config.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
@@ -20,28 +22,42 @@ public class BookingClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> add(Long bookerId, BookingDto booking) {
+    public CompletableFuture<ResponseEntity<Object>> add(Long bookerId, BookingDto booking) {
         Map<String, Object> parameters = Map.of(
                 "bookerId", bookerId
         );
-        return post("", bookerId, parameters, booking);
+        return evicting(post("", bookerId, parameters, booking), "/items/" + booking.getItemId());
     }
 
-    public ResponseEntity<Object> approve(Long bookerId, long bookingId, boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> addAll(Long bookerId, List<BookingDto> bookings) {
+        String[] items = bookings.stream()
+                .map(booking -> "/items/" + booking.getItemId())
+                .distinct()
+                .toArray(String[]::new);
+        return evicting(post("/batch", bookerId, null, bookings), items);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> approve(Long bookerId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "bookerId", bookerId,
                 "bookingId", bookingId,
                 "approved", approved
         );
-        return patch("/{bookingId}?approved={approved}", bookerId, parameters);
+        return evicting(patch("/{bookingId}?approved={approved}", bookerId, parameters), "/items");
     }
 
-    public ResponseEntity<Object> get(Long userId, long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> approveAll(Long ownerId, List<Long> bookingIds, boolean approved) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+        return evicting(patch("?approved={approved}", ownerId, parameters, bookingIds), "/items");
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, long bookingId) {
         Map<String, Object> parameters = Map.of(
                 "bookingId", bookingId,
                 "userId", userId
@@ -50,23 +66,31 @@ public class BookingClient extends BaseClient {
 
     }
 
-    public ResponseEntity<Object> getUserBookings(Long userId, String state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> getUserBookings(Long userId, String state, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "userId", userId,
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        if (cursor == null) {
+            return get("?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("?state={state}&from={from}&size={size}" + "&cursor={cursor}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllOwnersBooking(Long userId, String state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> getAllOwnersBooking(Long userId, String state, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "userId", userId,
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        if (cursor == null) {
+            return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("/owner?state={state}&from={from}&size={size}" + "&cursor={cursor}", userId, parameters);
     }
 }
@@ -7,6 +7,11 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -17,37 +22,54 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                      @Valid @RequestBody BookingDto booking) {
+    public CompletableFuture<ResponseEntity<Object>> add(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                         @Valid @RequestBody BookingDto booking) {
         return bookingClient.add(bookerId, booking);
     }
 
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<Object>> addAll(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                            @RequestBody @NotEmpty @Size(max = 1000)
+                                                            List<@Valid BookingDto> bookings) {
+        return bookingClient.addAll(bookerId, bookings);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                          @PathVariable long bookingId,
-                                          @RequestParam boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approve(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                             @PathVariable long bookingId,
+                                                             @RequestParam boolean approved) {
         return bookingClient.approve(bookerId, bookingId, approved);
     }
 
+    @PatchMapping
+    public CompletableFuture<ResponseEntity<Object>> approveAll(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                @RequestParam boolean approved,
+                                                                @RequestBody @NotEmpty @Size(max = 1000)
+                                                                List<@NotNull Long> bookingIds) {
+        return bookingClient.approveAll(ownerId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> get(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                      @PathVariable long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> get(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @PathVariable long bookingId) {
         return bookingClient.get(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "ALL") String state,
-                                                  @RequestParam(defaultValue = "0") @Min(0) int from,
-                                                  @RequestParam(defaultValue = "10") @Min(1) int size) {
-        return bookingClient.getUserBookings(userId, state, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     @RequestParam(defaultValue = "ALL") String state,
+                                                                     @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                                     @RequestParam(defaultValue = "10") @Min(1) int size,
+                                                                     @RequestParam(required = false) String cursor) {
+        return bookingClient.getUserBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestParam(defaultValue = "0") @Min(0) int from,
-                                                   @RequestParam(defaultValue = "10") @Min(1) int size) {
-        return bookingClient.getAllOwnersBooking(userId, state, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                      @RequestParam(defaultValue = "ALL") String state,
+                                                                      @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                                      @RequestParam(defaultValue = "10") @Min(1) int size,
+                                                                      @RequestParam(required = false) String cursor) {
+        return bookingClient.getAllOwnersBooking(userId, state, from, size, cursor);
     }
 }
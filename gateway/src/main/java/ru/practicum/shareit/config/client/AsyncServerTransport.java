@@ -0,0 +1,129 @@
+package ru.practicum.shareit.config.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Non-blocking transport to the server, enabled with {@code shareit-server.transport=async}. Requests go out
+ * through {@link HttpClient#sendAsync}, so a servlet thread is released as soon as the controller returns the
+ * future. At most {@code shareit-server.http.max-in-flight} requests are sent at once; the rest wait in a queue
+ * without holding a thread.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "async")
+public class AsyncServerTransport implements DisposableBean {
+    private final ObjectMapper objectMapper;
+    private final HttpClientProperties properties;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Semaphore permits;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    public AsyncServerTransport(ObjectMapper objectMapper, HttpClientProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getAsyncThreads());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(executor)
+                .build();
+        this.permits = new Semaphore(properties.getMaxInFlight());
+    }
+
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(properties.getReadTimeout())
+                .method(method.name(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(writeBody(body)));
+        headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+        return send(request.build()).handle((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                throw new CompletionException(new ResourceAccessException(
+                        String.format("I/O error on %s request for \"%s\": %s", method, uri, cause.getMessage()),
+                        cause instanceof IOException ? (IOException) cause : new IOException(cause)));
+            }
+            return toResponseEntity(response);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            CompletableFuture<HttpResponse<byte[]>> sent;
+            try {
+                sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            sent.whenComplete((response, error) -> {
+                permits.release();
+                drain();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(response);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    private static ResponseEntity<byte[]> toResponseEntity(HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        byte[] body = response.body();
+        // The raw code, so a status HttpStatus does not know (e.g. 599 from a proxy) still reaches the client.
+        return ResponseEntity.status(response.statusCode()).headers(headers).body(body.length == 0 ? null : body);
+    }
+
+    private byte[] writeBody(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,102 +1,183 @@
 package ru.practicum.shareit.config.client;
 
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "upgrade");
+
     protected final RestTemplate rest;
+    private AsyncServerTransport asyncTransport;
+    private ResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
 
-    public ResponseEntity<Object> get(String path) {
+    @Autowired(required = false)
+    public void setAsyncTransport(AsyncServerTransport asyncTransport) {
+        this.asyncTransport = asyncTransport;
+    }
+
+    @Autowired(required = false)
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, @Nullable Map<String, Object> parameters) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, @Nullable Map<String, Object> parameters) {
         return post(path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
         return patch(path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private  <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    /**
+     * GET through the {@link ResponseCache}: a fresh entry is returned as is, a stale one is revalidated with
+     * {@code If-None-Match} and reused on {@code 304 Not Modified}. The client's own {@code If-None-Match} is
+     * answered against the server's {@code ETag} of whichever response is served.
+     */
+    protected CompletableFuture<ResponseEntity<Object>> cachedGet(String path, long userId, Map<String, Object> parameters) {
+        if (responseCache == null) {
+            return get(path, userId, parameters);
+        }
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters);
+        List<String> clientTags = clientIfNoneMatch();
+        ResponseCache.Entry cached = responseCache.get(uri, userId);
+        if (cached != null && cached.isFresh()) {
+            return CompletableFuture.completedFuture(prepareGatewayResponse(notModified(cached.getResponse(), clientTags)));
+        }
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getResponse().getHeaders().getETag());
+        }
+        return exchange(HttpMethod.GET, uri, headers, null).thenApply(response -> {
+            boolean notModified = response.getStatusCodeValue() == HttpStatus.NOT_MODIFIED.value();
+            ResponseEntity<byte[]> current = cached != null && notModified
+                    ? cached.getResponse()
+                    : response;
+            responseCache.put(uri, userId, current);
+            return prepareGatewayResponse(notModified(current, clientTags));
+        });
+    }
+
+    /**
+     * Evicts the cached responses under {@code paths} once {@code write} has completed.
+     */
+    protected CompletableFuture<ResponseEntity<Object>> evicting(CompletableFuture<ResponseEntity<Object>> write,
+                                                                 String... paths) {
+        if (responseCache == null) {
+            return write;
+        }
+        return write.whenComplete((response, error) -> {
+            for (String path : paths) {
+                responseCache.evict(path);
+            }
+        });
+    }
+
+    private  <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        HttpHeaders headers = defaultHeaders(userId);
+        if (method == HttpMethod.GET) {
+            List<String> clientTags = clientIfNoneMatch();
+            if (!clientTags.isEmpty()) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, clientTags);
+            }
+        }
+        return exchange(method, uri, headers, body).thenApply(BaseClient::prepareGatewayResponse);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                               @Nullable Object body) {
+        if (asyncTransport != null) {
+            return asyncTransport.exchange(method, uri, headers, body);
+        }
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            shareitServerResponse = rest.exchange(uri, method, new HttpEntity<>(body, headers), byte[].class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            shareitServerResponse = new ResponseEntity<>(e.getResponseBodyAsByteArray(), e.getResponseHeaders(),
+                    e.getStatusCode());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return CompletableFuture.completedFuture(shareitServerResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -109,12 +190,53 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
+    /**
+     * The {@code If-None-Match} values of the client request being handled, if any.
+     */
+    private static List<String> clientIfNoneMatch() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return List.of();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.put(HttpHeaders.IF_NONE_MATCH, Collections.list(((ServletRequestAttributes) attributes).getRequest()
+                .getHeaders(HttpHeaders.IF_NONE_MATCH)));
+        return headers.getIfNoneMatch();
+    }
+
+    /**
+     * Turns a successful server response into {@code 304 Not Modified} when its {@code ETag} matches one of the
+     * client's tags, keeping the server's headers.
+     */
+    private static ResponseEntity<byte[]> notModified(ResponseEntity<byte[]> response, List<String> clientTags) {
+        String etag = response.getHeaders().getETag();
+        if (etag == null || response.getStatusCodeValue() != HttpStatus.OK.value() || clientTags.stream()
+                .noneMatch(tag -> tag.equals("*") || opaqueTag(tag).equals(opaqueTag(etag)))) {
             return response;
         }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    /**
+     * Passes the server response through as raw bytes: the body is never parsed, only hop-by-hop headers are
+     * dropped, so the client gets the server's JSON and {@code Content-Type} unchanged.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCodeValue()).headers(headers);
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
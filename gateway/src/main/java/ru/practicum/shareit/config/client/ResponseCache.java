@@ -0,0 +1,78 @@
+package ru.practicum.shareit.config.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Successful GET responses that carry an ETag, keyed by path, query and {@code X-Sharer-User-Id}. Entries are
+ * revalidated with {@code If-None-Match} once they are older than {@code shareit-server.cache.fresh-for};
+ * writes made through the clients evict the paths they affect.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCache {
+    private final Cache<Key, Entry> entries;
+    private final long freshForNanos;
+
+    public ResponseCache(@Value("${shareit-server.cache.spec:maximumSize=10000}") String spec,
+                         @Value("${shareit-server.cache.fresh-for:0s}") Duration freshFor) {
+        this.entries = Caffeine.from(spec).build();
+        this.freshForNanos = freshFor.toNanos();
+    }
+
+    public Entry get(URI uri, Long userId) {
+        return entries.getIfPresent(Key.of(target(uri), userId));
+    }
+
+    public void put(URI uri, Long userId, ResponseEntity<byte[]> response) {
+        if (response.getStatusCodeValue() == HttpStatus.OK.value() && response.getHeaders().getETag() != null) {
+            entries.put(Key.of(target(uri), userId), new Entry(response, System.nanoTime() + freshForNanos));
+        }
+    }
+
+    /**
+     * Drops the entries for {@code path} and everything below it, for any query string and user.
+     */
+    public void evict(String path) {
+        entries.asMap().keySet().removeIf(key -> key.target.equals(path)
+                || key.target.startsWith(path + "/")
+                || key.target.startsWith(path + "?"));
+    }
+
+    private static String target(URI uri) {
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+
+    @EqualsAndHashCode
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    @AllArgsConstructor(staticName = "of")
+    private static final class Key {
+        String target;
+        Long userId;
+    }
+
+    @Getter
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Entry {
+        ResponseEntity<byte[]> response;
+        long freshUntil;
+
+        public boolean isFresh() {
+            return System.nanoTime() - freshUntil < 0;
+        }
+    }
+}
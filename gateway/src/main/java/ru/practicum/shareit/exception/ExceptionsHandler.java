@@ -4,6 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.ValidationException;
@@ -22,4 +23,10 @@ public class ExceptionsHandler {
     public ErrorResponse itemNotFoundException(final RuntimeException e) {
         return new ErrorResponse("Object Exception: ", e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse serverUnavailableException(final ResourceAccessException e) {
+        return new ErrorResponse("Server Unavailable: ", e.getMessage());
+    }
 }
\ No newline at end of file
@@ -4,12 +4,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.config.client.BaseClient;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
@@ -20,54 +20,56 @@ public class ItemClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> add(long userId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> add(long userId, ItemDto itemDto) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
-        return post("", userId, parameters, itemDto);
+        return evicting(post("", userId, parameters, itemDto), "/items/search", "/requests");
     }
 
-    public ResponseEntity<Object> update(Long userId, long itemId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(Long userId, long itemId, ItemDto itemDto) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId,
                 "itemId", itemId
         );
-        return patch("/{itemId}", userId, parameters, itemDto);
+        return evicting(patch("/{itemId}", userId, parameters, itemDto),
+                API_PREFIX + "/" + itemId, "/items/search", "/requests");
     }
 
-    public ResponseEntity<Object> getItems(long userId, long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItems(long userId, long itemId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId,
                 "itemId", itemId
         );
-        return get("/{itemId}", userId, parameters);
+        return cachedGet("/{itemId}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerItems(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getOwnerItems(long userId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
         return get("", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(long userId, String text) {
+    public CompletableFuture<ResponseEntity<Object>> search(long userId, String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
-                "userId", userId
+                "userId", userId,
+                "from", from,
+                "size", size
         );
-        return get("/search?text={text}", userId, parameters);
+        return cachedGet("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, Long itemId, CommentDTO commentDTO) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(long userId, Long itemId, CommentDTO commentDTO) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId,
                 "userId", userId
         );
-        return post("/{itemId}/comment", userId, parameters, commentDTO);
+        return evicting(post("/{itemId}/comment", userId, parameters, commentDTO), API_PREFIX + "/" + itemId);
     }
 }
@@ -2,52 +2,58 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
+@Validated
 public class ItemController {
 
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                      @Valid @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> add(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @Valid @RequestBody ItemDto itemDto) {
         return itemClient.add(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestBody ItemDto itemDto,
-                                         @RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @PathVariable long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> update(@RequestBody ItemDto itemDto,
+                                                            @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @PathVariable long itemId) {
         return itemClient.update(userId, itemId, itemDto);
     }
 
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@RequestHeader("X-Sharer-User-Id") long userId,
-                                      @PathVariable long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> get(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                         @PathVariable long itemId) {
         return itemClient.getItems(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsersOwnItems(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUsersOwnItems(@RequestHeader("X-Sharer-User-Id") long userId) {
         return itemClient.getOwnerItems(userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestParam String text) {
-        return itemClient.search(userId, text);
+    public CompletableFuture<ResponseEntity<Object>> search(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @RequestParam String text,
+                                                            @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                            @RequestParam(defaultValue = "10") @Min(1) int size) {
+        return itemClient.search(userId, text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long itemId,
-                                             @Valid @RequestBody CommentDTO commentDTO) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @PathVariable Long itemId,
+                                                                @Valid @RequestBody CommentDTO commentDTO) {
         return itemClient.addComment(userId, itemId, commentDTO);
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * TODO Sprint add-item-requests.
@@ -20,28 +21,29 @@ public class ItemRequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestHeader("X-Sharer-User-Id") Long userId,
-                              @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> add(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @Valid @RequestBody ItemRequestDto itemRequestDto) {
         return requestClient.addItem(itemRequestDto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsersAll(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                            @RequestParam(defaultValue = "0") @Min(0)  int from,
-                                            @RequestParam(defaultValue = "10") @Min(1)  int size) {
+    public CompletableFuture<ResponseEntity<Object>> getUsersAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(defaultValue = "0") @Min(0)  int from,
+                                                               @RequestParam(defaultValue = "10") @Min(1)  int size) {
         return requestClient.getUsersAll(userId, from, size);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getOtherRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @RequestParam(defaultValue = "0") @Min(0)  int from,
-                                         @RequestParam(defaultValue = "10") @Min(1)  int size) {
-        return requestClient.getOtherRequest(userId, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getOtherRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestParam(defaultValue = "0") @Min(0)  int from,
+                                                            @RequestParam(defaultValue = "10") @Min(1)  int size,
+                                                            @RequestParam(required = false) String cursor) {
+        return requestClient.getOtherRequest(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object>  get(@RequestHeader("X-Sharer-User-Id") Long userId,
-                              @PathVariable long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> get(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @PathVariable long requestId) {
         return requestClient.get(userId, requestId);
     }
 }
\ No newline at end of file
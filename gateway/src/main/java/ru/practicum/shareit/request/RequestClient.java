@@ -4,12 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.config.client.BaseClient;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class RequestClient extends BaseClient {
@@ -21,19 +22,18 @@ public class RequestClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> addItem(ItemRequestDto itemRequestDto, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> addItem(ItemRequestDto itemRequestDto, Long userId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
-        return post("", userId, parameters, itemRequestDto);
+        return evicting(post("", userId, parameters, itemRequestDto), API_PREFIX);
     }
 
-    public ResponseEntity<Object> getUsersAll(Long userId, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getUsersAll(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId,
                 "from", from,
@@ -42,16 +42,20 @@ public class RequestClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOtherRequest(Long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> getOtherRequest(Long userId, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "userId", userId,
                 "from", from,
                 "size", size
-        );
-        return  get("/all?from={from}&size={size}", userId, parameters);
+        ));
+        if (cursor == null) {
+            return cachedGet("/all?from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return cachedGet("/all?from={from}&size={size}&cursor={cursor}", userId, parameters);
     }
 
-    public ResponseEntity<Object> get(Long userId, long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, long requestId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId,
                 "requestId", requestId
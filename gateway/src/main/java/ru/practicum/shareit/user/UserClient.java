@@ -4,12 +4,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.config.client.BaseClient;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserClient extends BaseClient {
@@ -21,33 +21,32 @@ public class UserClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getUser(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(long userId) {
         Map<String, Object> parameters = Map.of(
          "userId", userId
         );
-        return get("/{userId}", userId, parameters);
+        return cachedGet("/{userId}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addUser(UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> addUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(long userId, UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(long userId, UserDto userDto) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
-        return patch("/{userId}",userId, parameters, userDto);
+        return evicting(patch("/{userId}",userId, parameters, userDto), API_PREFIX + "/" + userId, "/items");
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> delete(long userId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
-        return delete("/{userId}", userId, parameters);
+        return evicting(delete("/{userId}", userId, parameters), API_PREFIX + "/" + userId, "/items", "/requests");
     }
 }
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.config.client.AsyncServerTransport;
+import ru.practicum.shareit.config.client.HttpClientProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncServerTransportTest {
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private AsyncServerTransport transport;
+    private final Queue<HttpExchange> parked = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger received = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(2);
+        server.setExecutor(serverExecutor);
+        server.createContext("/users/1", exchange -> respond(exchange, 200, "{\"id\":1,\"name\":\"user\"}"));
+        server.createContext("/users/2", exchange -> respond(exchange, 404, "{\"error\":\"not found\"}"));
+        server.createContext("/users/3", exchange -> respond(exchange, 599, "{\"error\":\"timeout\"}"));
+        server.createContext("/slow", exchange -> {
+            received.incrementAndGet();
+            parked.add(exchange);
+        });
+        server.start();
+
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxInFlight(2);
+        transport = new AsyncServerTransport(new ObjectMapper(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.destroy();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void exchangeReturnsRawBodies() {
+        ResponseEntity<byte[]> found = transport.exchange(HttpMethod.GET, uri("/users/1"), new HttpHeaders(), null).join();
+        ResponseEntity<byte[]> missing = transport.exchange(HttpMethod.GET, uri("/users/2"), new HttpHeaders(), null).join();
+
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertEquals("{\"id\":1,\"name\":\"user\"}", new String(found.getBody(), StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        assertEquals("{\"error\":\"not found\"}", new String(missing.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exchangeKeepsStatusCodesUnknownToHttpStatus() {
+        ResponseEntity<byte[]> response = transport.exchange(HttpMethod.GET, uri("/users/3"), new HttpHeaders(), null)
+                .join();
+
+        assertEquals(599, response.getStatusCodeValue());
+        assertEquals("{\"error\":\"timeout\"}", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exchangeQueuesRequestsAboveMaxInFlight() throws Exception {
+        List<CompletableFuture<ResponseEntity<byte[]>>> responses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            responses.add(transport.exchange(HttpMethod.GET, uri("/slow"), new HttpHeaders(), null));
+        }
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertEquals(2, received.get());
+
+        while (responses.stream().anyMatch(response -> !response.isDone())) {
+            HttpExchange exchange = parked.poll();
+            if (exchange != null) {
+                respond(exchange, 200, "{}");
+            }
+        }
+        assertEquals(5, received.get());
+    }
+
+    @Test
+    void exchangeFailsWithResourceAccessExceptionWhenServerIsDown() {
+        server.stop(0);
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> transport.exchange(HttpMethod.GET, uri("/users/1"), new HttpHeaders(), null).join());
+        assertTrue(e.getCause() instanceof ResourceAccessException);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
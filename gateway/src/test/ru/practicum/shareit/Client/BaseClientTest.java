@@ -31,13 +31,13 @@ class BaseClientTest {
         param.put("1", user);
         Mockito.when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class)))
                 .thenReturn(new ResponseEntity(mapper.writeValueAsString(user), HttpStatus.OK));
-        ResponseEntity<Object> o = baseClient.get("users/1");
+        ResponseEntity<Object> o = baseClient.get("users/1").join();
         User responseUser = mapper.readValue(o.getBody().toString(), User.class);
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
         assertEquals(user.getEmail(), responseUser.getEmail());
-        o = baseClient.get("users/1", 1L);
+        o = baseClient.get("users/1", 1L).join();
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
@@ -54,13 +54,13 @@ class BaseClientTest {
         param.put("1", user);
         Mockito.when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class)))
                 .thenReturn(new ResponseEntity(mapper.writeValueAsString(user), HttpStatus.OK));
-        ResponseEntity<Object> o = baseClient.post("users/1", user);
+        ResponseEntity<Object> o = baseClient.post("users/1", user).join();
         User responseUser = mapper.readValue(o.getBody().toString(), User.class);
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
         assertEquals(user.getEmail(), responseUser.getEmail());
-        o = baseClient.post("users/1", 1L, user);
+        o = baseClient.post("users/1", 1L, user).join();
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
@@ -78,13 +78,13 @@ class BaseClientTest {
         param.put("1", user);
         Mockito.when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class)))
                 .thenReturn(new ResponseEntity(mapper.writeValueAsString(user), HttpStatus.OK));
-        ResponseEntity<Object> o = baseClient.put("users/1", 1L, user);
+        ResponseEntity<Object> o = baseClient.put("users/1", 1L, user).join();
         User responseUser = mapper.readValue(o.getBody().toString(), User.class);
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
         assertEquals(user.getEmail(), responseUser.getEmail());
-        o = baseClient.put("users/1", 1L, param);
+        o = baseClient.put("users/1", 1L, param).join();
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
@@ -98,7 +98,7 @@ class BaseClientTest {
         param.put("1", user);
         Mockito.when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class)))
                 .thenReturn(new ResponseEntity(mapper.writeValueAsString(user), HttpStatus.OK));
-        ResponseEntity<Object> o = baseClient.patch("users/1", 1L);
+        ResponseEntity<Object> o = baseClient.patch("users/1", 1L).join();
         User responseUser = mapper.readValue(o.getBody().toString(), User.class);
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
@@ -108,7 +108,7 @@ class BaseClientTest {
                 () -> baseClient.patch("users/1", 1L, param));
         assertEquals(e.getClass(), NullPointerException.class);
 
-        o = baseClient.patch("", user);
+        o = baseClient.patch("", user).join();
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
@@ -123,13 +123,13 @@ class BaseClientTest {
         param.put("1", user);
         Mockito.when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class)))
                 .thenReturn(new ResponseEntity(mapper.writeValueAsString(user), HttpStatus.OK));
-        ResponseEntity<Object> o = baseClient.delete("users/1");
+        ResponseEntity<Object> o = baseClient.delete("users/1").join();
         User responseUser = mapper.readValue(o.getBody().toString(), User.class);
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
         assertEquals(user.getEmail(), responseUser.getEmail());
-        o = baseClient.delete("users/1", 1L);
+        o = baseClient.delete("users/1", 1L).join();
         assertEquals(o.getStatusCode(), HttpStatus.OK);
         assertEquals(user.getId(), responseUser.getId());
         assertEquals(user.getName(), responseUser.getName());
@@ -158,7 +158,7 @@ class BaseClientTest {
         param.put("1", user);
         Mockito.when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class)))
                 .thenReturn(new ResponseEntity(mapper.writeValueAsString(user), HttpStatus.NOT_FOUND));
-        ResponseEntity<Object> o = baseClient.get("users/1");
+        ResponseEntity<Object> o = baseClient.get("users/1").join();
         User responseUser = mapper.readValue(o.getBody().toString(), User.class);
         assertEquals(o.getStatusCode(), HttpStatus.NOT_FOUND);
 
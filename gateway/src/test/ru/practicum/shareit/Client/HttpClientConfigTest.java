@@ -0,0 +1,39 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.config.client.HttpClientConfig;
+import ru.practicum.shareit.config.client.HttpClientProperties;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientConfigTest {
+
+    @Test
+    void clientsShareOnePooledTransport() throws IOException {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxTotal(50);
+        properties.setMaxPerRoute(20);
+        HttpClientConfig config = new HttpClientConfig();
+        PoolingHttpClientConnectionManager connectionManager = config.shareitServerConnectionManager(properties);
+
+        try (CloseableHttpClient httpClient = config.shareitServerHttpClient(connectionManager, properties)) {
+            RestTemplate first = new RestTemplate();
+            RestTemplate second = new RestTemplate();
+            config.shareitServerRequestFactory(httpClient).customize(first);
+            config.shareitServerRequestFactory(httpClient).customize(second);
+
+            assertEquals(50, connectionManager.getMaxTotal());
+            assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+            assertTrue(first.getRequestFactory() instanceof HttpComponentsClientHttpRequestFactory);
+            assertEquals(((HttpComponentsClientHttpRequestFactory) first.getRequestFactory()).getHttpClient(),
+                    ((HttpComponentsClientHttpRequestFactory) second.getRequestFactory()).getHttpClient());
+        }
+    }
+}
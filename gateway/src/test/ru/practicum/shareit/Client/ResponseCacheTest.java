@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.config.client.ResponseCache;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+    private final ResponseCache cache = new ResponseCache("maximumSize=100", Duration.ofMinutes(1));
+
+    @Test
+    void storesOnlyResponsesWithEtag() {
+        cache.put(uri("/items/1"), 1L, ResponseEntity.ok().eTag("\"1\"").body(new byte[0]));
+        cache.put(uri("/items/2"), 1L, ResponseEntity.ok().body(new byte[0]));
+
+        assertNotNull(cache.get(uri("/items/1"), 1L));
+        assertTrue(cache.get(uri("/items/1"), 1L).isFresh());
+        assertNull(cache.get(uri("/items/1"), 2L));
+        assertNull(cache.get(uri("/items/2"), 1L));
+    }
+
+    @Test
+    void evictRemovesPathAndEverythingBelowIt() {
+        cache.put(uri("/items/1"), 1L, ResponseEntity.ok().eTag("\"1\"").body(new byte[0]));
+        cache.put(uri("/items/10"), 1L, ResponseEntity.ok().eTag("\"10\"").body(new byte[0]));
+        cache.put(uri("/items/search?text=drill&from=0&size=10"), 2L, ResponseEntity.ok().eTag("\"s\"").body(new byte[0]));
+
+        cache.evict("/items/1");
+        assertNull(cache.get(uri("/items/1"), 1L));
+        assertNotNull(cache.get(uri("/items/10"), 1L));
+
+        cache.evict("/items");
+        assertNull(cache.get(uri("/items/10"), 1L));
+        assertNull(cache.get(uri("/items/search?text=drill&from=0&size=10"), 2L));
+    }
+
+    private static URI uri(String target) {
+        return URI.create("http://localhost:9090" + target);
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Holds {@value #REQUESTS} requests open through the async gateway at the same time: the stub server only
+ * answers once all of them have reached it. Needs a high open-file limit and is skipped unless run with
+ * {@code -Dshareit.load-test=true}, e.g.
+ * {@code ulimit -n 65536 && mvn -pl gateway test -Dtest=GatewayLoadTest -Dshareit.load-test=true -DargLine=-Xmx256m}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-server.transport=async",
+        "shareit-server.http.max-in-flight=" + GatewayLoadTest.REQUESTS,
+        "shareit-server.http.read-timeout=60s",
+        "spring.mvc.async.request-timeout=60s",
+        "spring.autoconfigure.exclude=" +
+                "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration," +
+                "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "shareit.load-test", matches = "true")
+class GatewayLoadTest {
+    static final int REQUESTS = 10_000;
+    private static final int MAX_THREADS = 500;
+    private static final byte[] USER = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final Queue<HttpExchange> parked = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger received = new AtomicInteger();
+    private static ExecutorService stubExecutor;
+    private static HttpServer stub;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stubExecutor = Executors.newFixedThreadPool(4);
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/users", exchange -> {
+            parked.add(exchange);
+            if (received.incrementAndGet() == REQUESTS) {
+                stubExecutor.execute(GatewayLoadTest::releaseAll);
+            }
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @Test
+    void gatewayHoldsTenThousandRequestsInFlight() {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        try {
+            HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1"))
+                    .timeout(Duration.ofSeconds(90))
+                    .build();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+            assertEquals(REQUESTS, received.get());
+            assertTrue(responses.stream().allMatch(response -> response.join().statusCode() == 200));
+            int peakThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+            assertTrue(peakThreads < MAX_THREADS, "peak thread count " + peakThreads);
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static void releaseAll() {
+        HttpExchange exchange;
+        while ((exchange = parked.poll()) != null) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, USER.length);
+                out.write(USER);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }
+    }
+}
@@ -36,7 +36,7 @@ class BookingClientTest {
                 .andRespond(withSuccess("", MediaType.APPLICATION_JSON));
         BookingDto bookingDto = BookingDto.create(1L, 1L, 1L, 2L, LocalDateTime.now(),
                 LocalDateTime.now(), BookingStatus.WAITING);
-        ResponseEntity<Object> response = bookingClient.add(1L, bookingDto);
+        ResponseEntity<Object> response = bookingClient.add(1L, bookingDto).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
 
@@ -49,7 +49,7 @@ class BookingClientTest {
         this.server.expect(requestTo("http://localhost:9090/bookings/1?approved=true"))
                 .andRespond(withSuccess(mapper.writeValueAsString(item), MediaType.APPLICATION_JSON));
 
-        ResponseEntity<Object> response = bookingClient.approve(1L, user.getId(), true);
+        ResponseEntity<Object> response = bookingClient.approve(1L, user.getId(), true).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
 
@@ -61,7 +61,7 @@ class BookingClientTest {
                 LocalDateTime.now(), BookingStatus.WAITING);
         this.server.expect(requestTo("http://localhost:9090/bookings/1"))
                 .andRespond(withSuccess("true", MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = bookingClient.get(1L, user.getId());
+        ResponseEntity<Object> response = bookingClient.get(1L, user.getId()).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
 
@@ -73,7 +73,7 @@ class BookingClientTest {
                 LocalDateTime.now(), BookingStatus.WAITING);
         this.server.expect(requestTo("http://localhost:9090/bookings?state=ALL&from=0&size=10"))
                 .andRespond(withSuccess("true", MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = bookingClient.getUserBookings(1L, "ALL", 0, 10);
+        ResponseEntity<Object> response = bookingClient.getUserBookings(1L, "ALL", 0, 10, null).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
 
@@ -85,7 +85,7 @@ class BookingClientTest {
                 LocalDateTime.now(), BookingStatus.WAITING);
         this.server.expect(requestTo("http://localhost:9090/bookings/owner?state=ALL&from=0&size=10"))
                 .andRespond(withSuccess("true", MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = bookingClient.getAllOwnersBooking(1L, "ALL", 0, 10);
+        ResponseEntity<Object> response = bookingClient.getAllOwnersBooking(1L, "ALL", 0, 10, null).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }*/
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -57,7 +58,7 @@ class BookingControllerTest {
     @Test
     void add() throws Exception {
         when(bookingService.add(anyLong(), any(BookingDto.class)))
-                .thenReturn(new ResponseEntity<>(bookingDto, HttpStatus.OK));
+                .thenReturn(CompletableFuture.completedFuture(new ResponseEntity<>(bookingDto, HttpStatus.OK)));
         mvc.perform(post("/bookings")
                         .header("X-Sharer-User-Id", owner)
                         .content(mapper.writeValueAsString(bookingDto))
@@ -192,6 +193,51 @@ class BookingControllerTest {
                 .andExpect(status().is(404));
     }
 
+    @Test
+    void addAll() throws Exception {
+        when(bookingService.addAll(anyLong(), anyList()))
+                .thenReturn(CompletableFuture.completedFuture(new ResponseEntity<>(List.of(), HttpStatus.OK)));
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", booker)
+                        .content(mapper.writeValueAsString(List.of(bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        bookingDto.setStart(LocalDateTime.now().minusHours(1));
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", booker)
+                        .content(mapper.writeValueAsString(List.of(bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(400));
+    }
+
+    @Test
+    void approveAll() throws Exception {
+        when(bookingService.approveAll(anyLong(), anyList(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(new ResponseEntity<>(List.of(), HttpStatus.OK)));
+        mvc.perform(patch("/bookings")
+                        .header("X-Sharer-User-Id", owner)
+                        .param("approved", "true")
+                        .content(mapper.writeValueAsString(List.of(1L, 2L)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mvc.perform(patch("/bookings")
+                        .header("X-Sharer-User-Id", owner)
+                        .param("approved", "true")
+                        .content(mapper.writeValueAsString(List.of()))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(400));
+    }
+
     @Test
     void get() throws Exception {
         when(bookingService.get(anyLong(), anyLong()))
@@ -260,7 +306,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookings() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -278,7 +324,7 @@ class BookingControllerTest {
                         throw new NoSuchObjectException("User not found");
                     }
                     if (state.equals(bookingDto.getStatus().toString()) || state.equals("ALL")) {
-                        return new ResponseEntity<>(bookingDto, HttpStatus.OK);
+                        return CompletableFuture.completedFuture(new ResponseEntity<>(bookingDto, HttpStatus.OK));
                     }
                     throw new NoSuchObjectException("Bookings with State not found");
                 });
@@ -297,7 +343,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsWaiting() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -315,7 +361,7 @@ class BookingControllerTest {
                         throw new NoSuchObjectException("User not found");
                     }
                     if (state.equals(bookingDto.getStatus().toString()) || state.equals("ALL")) {
-                        return new ResponseEntity<>(bookingDto, HttpStatus.OK);
+                        return CompletableFuture.completedFuture(new ResponseEntity<>(bookingDto, HttpStatus.OK));
                     }
                     throw new NoSuchObjectException("Bookings with State not found");
                 });
@@ -333,7 +379,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsApproved() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -350,7 +396,7 @@ class BookingControllerTest {
                         throw new NoSuchObjectException("User not found");
                     }
                     if (state.equals(bookingDto.getStatus().toString()) || state.equals("ALL")) {
-                        return new ResponseEntity<>(bookingDto, HttpStatus.OK);
+                        return CompletableFuture.completedFuture(new ResponseEntity<>(bookingDto, HttpStatus.OK));
                     }
 
                     throw new NoSuchObjectException("Bookings with State not found");
@@ -369,7 +415,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsRejected() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -387,7 +433,7 @@ class BookingControllerTest {
                         throw new NoSuchObjectException("User not found");
                     }
                     if (state.equals(bookingDto.getStatus().toString()) || state.equals("ALL")) {
-                        return new ResponseEntity<>(bookingDto, HttpStatus.OK);
+                        return CompletableFuture.completedFuture(new ResponseEntity<>(bookingDto, HttpStatus.OK));
                     }
                     throw new NoSuchObjectException("Bookings with State not found");
                 });
@@ -405,7 +451,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsCancelled() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -423,7 +469,7 @@ class BookingControllerTest {
                         throw new NoSuchObjectException("User not found");
                     }
                     if (state.equals(bookingDto.getStatus().toString()) || state.equals("ALL")) {
-                        return new ResponseEntity<>(bookingDto, HttpStatus.OK);
+                        return CompletableFuture.completedFuture(new ResponseEntity<>(bookingDto, HttpStatus.OK));
                     }
                     throw new NoSuchObjectException("Bookings with State not found");
                 });
@@ -441,7 +487,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsWrongPaging() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.config.client.ResponseCache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ItemClientCacheTest {
+    private static final String ITEM = "{\"id\":1,\"name\":\"Item 1\"}";
+
+    private MockRestServiceServer server;
+    private ItemClient itemClient;
+
+    @BeforeEach
+    void setUp() {
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        itemClient = new ItemClient("http://localhost:9090", new RestTemplateBuilder(customizer));
+        itemClient.setResponseCache(new ResponseCache("maximumSize=100", Duration.ZERO));
+        server = customizer.getServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getRevalidatesAndReusesCachedBodyOnNotModified() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(ITEM, MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        itemClient.getItems(1L, 1L).join();
+        ResponseEntity<Object> response = itemClient.getItems(1L, 1L).join();
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ITEM, new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void updateEvictsCachedItem() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andRespond(withSuccess(ITEM, MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess(ITEM, MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(ITEM, MediaType.APPLICATION_JSON).headers(etag("\"v2\"")));
+
+        itemClient.getItems(1L, 1L).join();
+        itemClient.update(1L, 1L, ItemDto.create(1L, "Item 1", "", true, 1L)).join();
+        itemClient.getItems(1L, 1L).join();
+
+        server.verify();
+    }
+
+    @Test
+    void getAnswersClientRevalidationFromServerEtag() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(ITEM, MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+
+        clientSends("\"v1\"");
+        ResponseEntity<Object> response = itemClient.getItems(1L, 1L).join();
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void uncachedGetForwardsClientTagAndRelaysNotModified() {
+        server.expect(requestTo("http://localhost:9090/items"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"v1\"")));
+
+        clientSends("\"v1\"");
+        ResponseEntity<Object> response = itemClient.getOwnerItems(1L).join();
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+    }
+
+    private static void clientSends(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static HttpHeaders etag(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        return headers;
+    }
+}
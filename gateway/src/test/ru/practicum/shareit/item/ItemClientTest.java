@@ -13,6 +13,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.client.MockRestServiceServer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -37,8 +38,8 @@ class ItemClientTest {
         ItemDto itemDto = ItemDto.create(1L, "Item 1", "", true, 1L);
         this.server.expect(requestTo("http://localhost:9090/items"))
                 .andRespond(withSuccess(mapper.writeValueAsString(itemDto.getName()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = itemClient.add(1L, itemDto);
-        assertEquals(response.getBody().toString(), "Item 1");
+        ResponseEntity<Object> response = itemClient.add(1L, itemDto).join();
+        assertEquals(mapper.writeValueAsString("Item 1"), new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -46,9 +47,9 @@ class ItemClientTest {
         ItemDto itemDto = ItemDto.create(1L, "Item 1", "", true, 1L);
         this.server.expect(requestTo("http://localhost:9090/items/1"))
                 .andRespond(withSuccess(mapper.writeValueAsString(itemDto.getName()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = itemClient.update(1L, 1L, itemDto);
+        ResponseEntity<Object> response = itemClient.update(1L, 1L, itemDto).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
-        assertEquals(response.getBody().toString(), "Item 1");
+        assertEquals(mapper.writeValueAsString("Item 1"), new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -56,9 +57,9 @@ class ItemClientTest {
         ItemDto itemDto = ItemDto.create(1L, "Item 1", "", true, 1L);
         this.server.expect(requestTo("http://localhost:9090/items/1"))
                 .andRespond(withSuccess(mapper.writeValueAsString(itemDto.getName()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = itemClient.getItems(1L, 1L);
+        ResponseEntity<Object> response = itemClient.getItems(1L, 1L).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
-        assertEquals(response.getBody().toString(), "Item 1");
+        assertEquals(mapper.writeValueAsString("Item 1"), new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -66,19 +67,19 @@ class ItemClientTest {
         ItemDto itemDto = ItemDto.create(1L, "Item 1", "", true, 1L);
         this.server.expect(requestTo("http://localhost:9090/items"))
                 .andRespond(withSuccess(mapper.writeValueAsString(itemDto.getName()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = itemClient.getOwnerItems(1L);
+        ResponseEntity<Object> response = itemClient.getOwnerItems(1L).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
-        assertEquals(response.getBody().toString(), "Item 1");
+        assertEquals(mapper.writeValueAsString("Item 1"), new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
     void search() throws JsonProcessingException {
         ItemDto itemDto = ItemDto.create(1L, "Item 1", "", true, 1L);
-        this.server.expect(requestTo("http://localhost:9090/items/search?text=item"))
+        this.server.expect(requestTo("http://localhost:9090/items/search?text=item&from=0&size=10"))
                 .andRespond(withSuccess(mapper.writeValueAsString(itemDto.getName()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = itemClient.search(1L, "item");
+        ResponseEntity<Object> response = itemClient.search(1L, "item", 0, 10).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
-        assertEquals(response.getBody().toString(), "Item 1");
+        assertEquals(mapper.writeValueAsString("Item 1"), new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -86,8 +87,8 @@ class ItemClientTest {
         CommentDTO commentDTO = CommentDTO.create(1L, "text", "name", LocalDateTime.now());
         this.server.expect(requestTo("http://localhost:9090/items/1/comment"))
                 .andRespond(withSuccess(mapper.writeValueAsString(commentDTO.getAuthorName()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = itemClient.addComment(1L, 1L, commentDTO);
+        ResponseEntity<Object> response = itemClient.addComment(1L, 1L, commentDTO).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
-        assertEquals(response.getBody().toString(), "name");
+        assertEquals(mapper.writeValueAsString("name"), new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 }
\ No newline at end of file
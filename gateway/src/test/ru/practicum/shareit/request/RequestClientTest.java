@@ -6,16 +6,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.client.MockRestServiceServer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
@@ -36,8 +39,8 @@ class RequestClientTest {
         ItemRequestDto requestDto = ItemRequestDto.create(1L, "", LocalDateTime.now(), List.of());
         this.server.expect(requestTo("http://localhost:9090/requests"))
                 .andRespond(withSuccess(mapper.writeValueAsString(requestDto.getId()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = requestClient.addItem(requestDto, 1L);
-        assertEquals(response.getBody().toString(), "1");
+        ResponseEntity<Object> response = requestClient.addItem(requestDto, 1L).join();
+        assertEquals("1", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -45,8 +48,8 @@ class RequestClientTest {
         ItemRequestDto requestDto = ItemRequestDto.create(1L, "", LocalDateTime.now(), List.of());
         this.server.expect(requestTo("http://localhost:9090/requests?from=0&size=10"))
                 .andRespond(withSuccess(mapper.writeValueAsString(requestDto.getId()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = requestClient.getUsersAll(1L, 0, 10);
-        assertEquals(response.getBody().toString(), "1");
+        ResponseEntity<Object> response = requestClient.getUsersAll(1L, 0, 10).join();
+        assertEquals("1", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -54,8 +57,8 @@ class RequestClientTest {
         ItemRequestDto requestDto = ItemRequestDto.create(1L, "", LocalDateTime.now(), List.of());
         this.server.expect(requestTo("http://localhost:9090/requests/all?from=0&size=10"))
                 .andRespond(withSuccess(mapper.writeValueAsString(requestDto.getId()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = requestClient.getOtherRequest(1L, 0, 10);
-        assertEquals(response.getBody().toString(), "1");
+        ResponseEntity<Object> response = requestClient.getOtherRequest(1L, 0, 10, null).join();
+        assertEquals("1", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -63,7 +66,25 @@ class RequestClientTest {
         ItemRequestDto requestDto = ItemRequestDto.create(1L, "", LocalDateTime.now(), List.of());
         this.server.expect(requestTo("http://localhost:9090/requests"))
                 .andRespond(withSuccess(mapper.writeValueAsString(requestDto.getId()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = requestClient.get("");
-        assertEquals(response.getBody().toString(), "1");
+        ResponseEntity<Object> response = requestClient.get("").join();
+        assertEquals("1", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
-}
\ No newline at end of file
+
+    @Test
+    void passesHeadersThroughAndDropsHopByHop() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        headers.set("X-Total-Count", "1");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("Keep-Alive", "timeout=60");
+        this.server.expect(requestTo("http://localhost:9090/requests/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(headers));
+        ResponseEntity<Object> response = requestClient.get(1L, 1L).join();
+        assertEquals("{\"id\":1}", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertFalse(response.getHeaders().containsKey("Keep-Alive"));
+    }
+}
@@ -26,7 +26,7 @@ class UserClientTest {
         User user = User.create(1L, "name", "email");
         this.server.expect(requestTo("http://localhost:9090/users/1"))
                 .andRespond(withSuccess(mapper.writeValueAsString(mapper.writeValueAsString(user)), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = userClient.getUser(1L);
+        ResponseEntity<Object> response = userClient.getUser(1L).join();
         assertEquals("email", user.getEmail());
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
@@ -37,7 +37,7 @@ class UserClientTest {
         UserDto userDto = UserDto.create(1L, "name", "email");
         this.server.expect(requestTo("http://localhost:9090/users"))
                 .andRespond(withSuccess(mapper.writeValueAsString(mapper.writeValueAsString(user)), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = userClient.addUser(userDto);
+        ResponseEntity<Object> response = userClient.addUser(userDto).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
 
@@ -47,7 +47,7 @@ class UserClientTest {
         UserDto userDto = UserDto.create(1L, "name", "email");
         this.server.expect(requestTo("http://localhost:9090/users/1"))
                 .andRespond(withSuccess(mapper.writeValueAsString(mapper.writeValueAsString(user)), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = userClient.updateUser(1L, userDto);
+        ResponseEntity<Object> response = userClient.updateUser(1L, userDto).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
 
@@ -57,7 +57,7 @@ class UserClientTest {
         UserDto userDto = UserDto.create(1L, "name", "email");
         this.server.expect(requestTo("http://localhost:9090/users/1"))
                 .andRespond(withSuccess(mapper.writeValueAsString(mapper.writeValueAsString(user)), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = userClient.delete(1L);
+        ResponseEntity<Object> response = userClient.delete(1L).join();
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }*/
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -19,6 +25,12 @@ public class BookingController {
         return bookingService.add(bookerId, booking);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addAll(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                              @RequestBody List<BookingDto> bookings) {
+        return bookingService.addAll(bookerId, bookings);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approve(@RequestHeader("X-Sharer-User-Id") Long bookerId,
                               @PathVariable long bookingId,
@@ -26,25 +38,41 @@ public class BookingController {
         return bookingService.approve(bookerId, bookingId, approved);
     }
 
+    @PatchMapping
+    public List<BookingDecisionDto> approveAll(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                               @RequestParam boolean approved,
+                                               @RequestBody List<Long> bookingIds) {
+        return bookingService.approveAll(ownerId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto get(@RequestHeader("X-Sharer-User-Id") Long userId,
-                          @PathVariable long bookingId) {
+                          @PathVariable long bookingId,
+                          WebRequest request) {
+        Optional<String> tag = bookingService.getEntityTag(bookingId, userId);
+        if (tag.isPresent() && request.checkNotModified(tag.get())) {
+            return null;
+        }
         return bookingService.get(bookingId, userId);
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                            @RequestParam(defaultValue = "ALL") String state,
-                                            @RequestParam(defaultValue = "0") int from,
-                                            @RequestParam(defaultValue = "10") int size) {
-        return bookingService.getAllUserBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestParam(defaultValue = "ALL") String state,
+                                                            @RequestParam(defaultValue = "0") int from,
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            @RequestParam(required = false) String cursor) {
+        return KeysetCursor.page(bookingService.getAllUserBookings(userId, state, from, size, cursor), size,
+                BookingDto::getStart, BookingDto::getId);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(defaultValue = "ALL") String state,
-                                             @RequestParam(defaultValue = "0") int from,
-                                             @RequestParam(defaultValue = "10") int size) {
-        return bookingService.getAllOwnersBooking(userId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(defaultValue = "ALL") String state,
+                                                             @RequestParam(defaultValue = "0") int from,
+                                                             @RequestParam(defaultValue = "10") int size,
+                                                             @RequestParam(required = false) String cursor) {
+        return KeysetCursor.page(bookingService.getAllOwnersBooking(userId, state, from, size, cursor), size,
+                BookingDto::getStart, BookingDto::getId);
     }
 }
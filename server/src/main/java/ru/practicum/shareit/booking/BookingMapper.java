@@ -42,4 +42,9 @@ public class BookingMapper {
                 booking.getBooker().getId());
     }
 
+    public static BookingDtoShort bookingViewToBookingShort(BookingShortView booking) {
+        return BookingDtoShort.create(booking.getId(),
+                booking.getBookerId());
+    }
+
 }
@@ -1,40 +1,179 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findWithItemAndBookerById(Long id);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByItem_IdOrderByStartDesc(Long itemId);
 
+    @Query(value = "SELECT b.id AS \"id\", b.booker_id AS \"bookerId\", b.item_id AS \"itemId\" FROM bookings AS b " +
+            "WHERE b.item_id = :itemId AND b.state <> 'REJECTED' AND b.start_time <= :now " +
+            "ORDER BY b.start_time DESC, b.id DESC LIMIT 1", nativeQuery = true)
+    Optional<BookingShortView> findLastBooking(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT b.id AS \"id\", b.booker_id AS \"bookerId\", b.item_id AS \"itemId\" FROM bookings AS b " +
+            "WHERE b.item_id = :itemId AND b.state <> 'REJECTED' AND b.start_time > :now " +
+            "ORDER BY b.start_time ASC, b.id ASC LIMIT 1", nativeQuery = true)
+    Optional<BookingShortView> findNextBooking(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT b.id AS \"id\", b.booker_id AS \"bookerId\", b.item_id AS \"itemId\" FROM items AS i " +
+            "CROSS JOIN LATERAL (SELECT * FROM bookings AS lb " +
+            "WHERE lb.item_id = i.id AND lb.state <> 'REJECTED' AND lb.start_time <= :now " +
+            "ORDER BY lb.start_time DESC, lb.id DESC LIMIT 1) AS b " +
+            "WHERE i.id IN (:itemIds)", nativeQuery = true)
+    List<BookingShortView> findLastBookings(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT b.id AS \"id\", b.booker_id AS \"bookerId\", b.item_id AS \"itemId\" FROM items AS i " +
+            "CROSS JOIN LATERAL (SELECT * FROM bookings AS nb " +
+            "WHERE nb.item_id = i.id AND nb.state <> 'REJECTED' AND nb.start_time > :now " +
+            "ORDER BY nb.start_time ASC, nb.id ASC LIMIT 1) AS b " +
+            "WHERE i.id IN (:itemIds)", nativeQuery = true)
+    List<BookingShortView> findNextBookings(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    boolean existsByItem_IdAndStateInAndStartIsBeforeAndEndIsAfter(Long itemId, Collection<BookingStatus> states,
+                                                                   LocalDateTime end, LocalDateTime start);
+
+    @Query("SELECT b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 AND b.state IN ?2 AND b.start < ?3 AND b.end > ?4")
+    List<BookingPeriodView> findPeriods(Collection<Long> itemIds, Collection<BookingStatus> states,
+                                        LocalDateTime end, LocalDateTime start);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByBooker_IdOrderByStartDesc(Long userId, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByItem_OwnerIdOrderByStartDesc(Long userId, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByBooker_IdAndState(Long userId, BookingStatus status, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByItem_OwnerIdAndState(Long ownerId, BookingStatus status, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByBooker_IdAndStartIsAfterOrderByStartDesc(Long userId, LocalDateTime time, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(Long userId, LocalDateTime time, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByBooker_IdAndEndIsBeforeOrderByStartDesc(Long userId, LocalDateTime time, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByItem_OwnerIdAndEndIsBeforeOrderByStartDesc(Long userId, LocalDateTime time, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByBooker_IdAndEndIsAfterAndStartIsBefore(Long userId, LocalDateTime end, LocalDateTime start, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findByItem_OwnerIdAndEndIsAfterAndStartIsBefore(Long userId, LocalDateTime end, LocalDateTime start, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.booker.id = ?1 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findByBookerIdBeforeCursor(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.booker.id = ?1 AND b.state = ?4 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findByBookerIdAndStateBeforeCursor(Long bookerId, LocalDateTime start, Long id,
+                                                     BookingStatus state, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.booker.id = ?1 AND b.start < ?4 AND b.end > ?4 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findCurrentByBookerIdBeforeCursor(Long bookerId, LocalDateTime start, Long id,
+                                                    LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.booker.id = ?1 AND b.end < ?4 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findPastByBookerIdBeforeCursor(Long bookerId, LocalDateTime start, Long id,
+                                                 LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.booker.id = ?1 AND b.start > ?4 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findFutureByBookerIdBeforeCursor(Long bookerId, LocalDateTime start, Long id,
+                                                   LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.item.owner.id = ?1 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findByOwnerIdBeforeCursor(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.item.owner.id = ?1 AND b.state = ?4 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findByOwnerIdAndStateBeforeCursor(Long ownerId, LocalDateTime start, Long id,
+                                                    BookingStatus state, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.item.owner.id = ?1 AND b.start < ?4 AND b.end > ?4 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findCurrentByOwnerIdBeforeCursor(Long ownerId, LocalDateTime start, Long id,
+                                                   LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.item.owner.id = ?1 AND b.end < ?4 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findPastByOwnerIdBeforeCursor(Long ownerId, LocalDateTime start, Long id,
+                                                LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking AS b WHERE b.item.owner.id = ?1 AND b.start > ?4 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findFutureByOwnerIdBeforeCursor(Long ownerId, LocalDateTime start, Long id,
+                                                  LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     Booking findByItem_OwnerIdAndId(Long ownerId, Long id);
 
+    @Query(value = "SELECT b.version || '.' || i.version || '.' || o.version || '.' || u.version FROM bookings AS b " +
+            "JOIN items AS i ON i.id = b.item_id JOIN users AS o ON o.id = i.owner_id " +
+            "JOIN users AS u ON u.id = b.booker_id " +
+            "WHERE b.id = :bookingId AND (b.booker_id = :userId OR i.owner_id = :userId)", nativeQuery = true)
+    Optional<String> findVersionTag(@Param("bookingId") Long bookingId, @Param("userId") Long userId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking AS b SET b.state = :state, b.version = b.version + 1 " +
+            "WHERE b.id = :bookingId AND b.state = :expected " +
+            "AND b.item.id IN (SELECT i.id FROM Item AS i WHERE i.owner.id = :ownerId)")
+    int updateState(@Param("bookingId") Long bookingId, @Param("ownerId") Long ownerId,
+                    @Param("expected") BookingStatus expected, @Param("state") BookingStatus state);
+
+    /**
+     * Decides the waiting bookings among {@code bookingIds} on the owner's items and returns the rows this statement
+     * changed. Not {@code @Modifying}, which only allows an update count, so bookings already loaded in the
+     * persistence context keep their old state.
+     */
+    @Query(value = "UPDATE bookings AS b SET state = :#{#state.name()}, version = b.version + 1 FROM items AS i " +
+            "WHERE i.id = b.item_id AND i.owner_id = :ownerId AND b.id IN (:bookingIds) AND b.state = 'WAITING' " +
+            "RETURNING b.id AS \"id\", b.state AS \"state\"", nativeQuery = true)
+    List<BookingStateView> updateWaitingStates(@Param("ownerId") Long ownerId,
+                                               @Param("bookingIds") Collection<Long> bookingIds,
+                                               @Param("state") BookingStatus state);
+
+    @Query("SELECT b.id AS id, b.state AS state FROM Booking AS b " +
+            "WHERE b.item.owner.id = :ownerId AND b.id IN (:bookingIds)")
+    List<BookingStateView> findStates(@Param("ownerId") Long ownerId, @Param("bookingIds") Collection<Long> bookingIds);
+
     @Query("SELECT b FROM Booking as b WHERE b.booker.id = ?1 AND b.item.id = ?2 AND b.state = ?3 order by b.start desc")
     List<Booking> findByBookerAndItem(Long bookerId, Long itemId, BookingStatus state);
 }
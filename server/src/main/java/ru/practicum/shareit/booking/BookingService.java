@@ -1,20 +1,30 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingService {
 
     BookingDto add(Long bookerId, BookingDto bookingDto);
 
+    List<BookingBatchResultDto> addAll(Long bookerId, List<BookingDto> bookingDtos);
+
     BookingDto get(Long bookingId, Long userId);
 
+    Optional<String> getEntityTag(Long bookingId, Long userId);
+
     BookingDto approve(long bookerId, long bookingId, boolean approved);
 
+    List<BookingDecisionDto> approveAll(long ownerId, Collection<Long> bookingIds, boolean approved);
+
     List<BookingDto> get(Long userId);
 
-    List<BookingDto> getAllUserBookings(Long userId, String state, int from, int size);
+    List<BookingDto> getAllUserBookings(Long userId, String state, int from, int size, String cursor);
 
-    List<BookingDto> getAllOwnersBooking(Long userId, String state, int from, int size);
+    List<BookingDto> getAllOwnersBooking(Long userId, String state, int from, int size, String cursor);
 }
@@ -3,38 +3,56 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.ItemsAvailabilityException;
 import ru.practicum.shareit.exception.NoSuchObjectException;
 import ru.practicum.shareit.exception.StateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.validation.EntityValidator;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class BookingServiceImpl implements BookingService {
 
+    private static final Set<BookingStatus> ACTIVE_STATES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "start", "id");
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final EntityValidator entityValidator;
 
     @Override
     public BookingDto add(Long bookerId, BookingDto bookingDto) {
-        Item item = itemRepository.findById(bookingDto.getItemId()).orElseThrow(() ->
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId()).orElseThrow(() ->
                 new NoSuchObjectException(String.format("Item with ID=%s not found", bookingDto.getItemId())));
-        User booker = userRepository.findById(bookerId).orElseThrow(() ->
-                new NoSuchObjectException(String.format("User with ID=%s not found", bookerId)));
-
-        List<Booking> bookings = bookingRepository.findByItem_IdOrderByStartDesc(item.getId());
-
         if (bookerId.equals(item.getOwner().getId())) {
             throw new NoSuchObjectException("Booking cannot be done by owner.");
         }
@@ -43,23 +61,108 @@ public class BookingServiceImpl implements BookingService {
                     String.format("Item with ID=%s is not available.", bookingDto.getItemId())
             );
         }
-        for (Booking b : bookings) {
-            if ((bookingDto.getStart().isBefore(b.getEnd()) && bookingDto.getStart().isAfter(b.getStart())) ||
-                    bookingDto.getEnd().isAfter(b.getStart()) && bookingDto.getEnd().isBefore(b.getEnd())) {
-                throw new ItemsAvailabilityException(
-                        String.format("Item with ID=%s is booked for this period.", bookingDto.getItemId())
-                );
-            }
+        User booker = userRepository.findById(bookerId).orElseThrow(() ->
+                new NoSuchObjectException(String.format("User with ID=%s not found", bookerId)));
+        if (bookingRepository.existsByItem_IdAndStateInAndStartIsBeforeAndEndIsAfter(item.getId(), ACTIVE_STATES,
+                bookingDto.getEnd(), bookingDto.getStart())) {
+            throw new ItemsAvailabilityException(
+                    String.format("Item with ID=%s is booked for this period.", bookingDto.getItemId())
+            );
         }
         Booking booking = BookingMapper.bookingDtoToBooking(bookingDto, booker, item);
         bookingRepository.save(booking);
         return BookingMapper.bookingToBookingDto(booking);
     }
 
+    @Override
+    public List<BookingBatchResultDto> addAll(Long bookerId, List<BookingDto> bookingDtos) {
+        User booker = userRepository.findById(bookerId).orElseThrow(() ->
+                new NoSuchObjectException(String.format("User with ID=%s not found", bookerId)));
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (itemIds.isEmpty()) {
+            return bookingDtos.stream()
+                    .map(bookingDto -> BookingBatchResultDto.create(null, "Item ID is required."))
+                    .collect(Collectors.toList());
+        }
+        Map<Long, Item> items = itemRepository.findAllByIdForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<BookingDto> datedDtos = bookingDtos.stream()
+                .filter(BookingServiceImpl::hasValidPeriod)
+                .collect(Collectors.toList());
+        Map<Long, List<BookingPeriodView>> taken = Map.of();
+        if (!items.isEmpty() && !datedDtos.isEmpty()) {
+            LocalDateTime from = datedDtos.stream().map(BookingDto::getStart).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDateTime to = datedDtos.stream().map(BookingDto::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+            taken = bookingRepository.findPeriods(items.keySet(), ACTIVE_STATES, to, from).stream()
+                    .collect(Collectors.groupingBy(BookingPeriodView::getItemId));
+        }
+        Map<Long, List<Booking>> accepted = new HashMap<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        for (BookingDto bookingDto : bookingDtos) {
+            Item item = items.get(bookingDto.getItemId());
+            String error = rejectionReason(bookerId, bookingDto, item, taken, accepted);
+            if (error != null) {
+                results.add(BookingBatchResultDto.create(null, error));
+                continue;
+            }
+            Booking booking = BookingMapper.bookingDtoToBooking(bookingDto, booker, item);
+            booking.setId(null);
+            accepted.computeIfAbsent(item.getId(), id -> new ArrayList<>()).add(booking);
+            bookings.add(booking);
+            results.add(BookingBatchResultDto.create(null, null));
+        }
+        bookingRepository.saveAll(bookings);
+        int next = 0;
+        for (BookingBatchResultDto result : results) {
+            if (result.getError() == null) {
+                result.setBooking(BookingMapper.bookingToBookingDto(bookings.get(next++)));
+            }
+        }
+        return results;
+    }
+
+    private static String rejectionReason(Long bookerId, BookingDto bookingDto, Item item,
+                                          Map<Long, List<BookingPeriodView>> taken,
+                                          Map<Long, List<Booking>> accepted) {
+        if (!hasValidPeriod(bookingDto)) {
+            return "Booking start and end are required and start must be before end.";
+        }
+        if (item == null) {
+            return String.format("Item with ID=%s not found", bookingDto.getItemId());
+        }
+        if (bookerId.equals(item.getOwner().getId())) {
+            return "Booking cannot be done by owner.";
+        }
+        if (!item.getAvailable()) {
+            return String.format("Item with ID=%s is not available.", item.getId());
+        }
+        boolean overlapsTaken = taken.getOrDefault(item.getId(), List.of()).stream()
+                .anyMatch(period -> overlaps(bookingDto, period.getStart(), period.getEnd()));
+        boolean overlapsAccepted = accepted.getOrDefault(item.getId(), List.of()).stream()
+                .anyMatch(booking -> overlaps(bookingDto, booking.getStart(), booking.getEnd()));
+        if (overlapsTaken || overlapsAccepted) {
+            return String.format("Item with ID=%s is booked for this period.", item.getId());
+        }
+        return null;
+    }
+
+    private static boolean hasValidPeriod(BookingDto bookingDto) {
+        return bookingDto.getStart() != null && bookingDto.getEnd() != null
+                && bookingDto.getStart().isBefore(bookingDto.getEnd());
+    }
+
+    private static boolean overlaps(BookingDto bookingDto, LocalDateTime start, LocalDateTime end) {
+        return start.isBefore(bookingDto.getEnd()) && end.isAfter(bookingDto.getStart());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookingDto get(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() ->
                 new NoSuchObjectException("Booking not found"));
         if (booking.getBooker().getId().longValue() == userId.longValue() ||
                 booking.getItem().getOwner().getId().longValue() == userId.longValue()) {
@@ -69,99 +172,122 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getEntityTag(Long bookingId, Long userId) {
+        return bookingRepository.findVersionTag(bookingId, userId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<BookingDto> get(Long userId) {
-        userRepository.findById(userId).orElseThrow(()
-                -> new NoSuchObjectException(String.format("User with ID=%s not found", userId)));
-        return BookingMapper.bookingDtos(bookingRepository.findByBooker_IdOrderByStartDesc(userId, Pageable.unpaged()));
+        return BookingMapper.bookingDtos(entityValidator.requireUserIfEmpty(userId,
+                bookingRepository.findByBooker_IdOrderByStartDesc(userId, Pageable.unpaged())));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDto> getAllUserBookings(Long userId, String status, int from, int size) {
-        PageRequest pageRequest = PageRequest.of(from, size);
-        userRepository.findById(userId).orElseThrow(()
-                -> new NoSuchObjectException(String.format("User with ID=%s not found", userId)));
-        List<BookingDto> bookingDtos;
-        switch (status) {
+    public List<BookingDto> getAllUserBookings(Long userId, String status, int from, int size, String cursor) {
+        List<Booking> bookings = cursor == null
+                ? findUserBookings(userId, status, OffsetPageRequest.of(from, size, NEWEST_FIRST))
+                : findUserBookingsBefore(userId, status, KeysetCursor.decode(cursor),
+                PageRequest.of(0, size, NEWEST_FIRST));
+        return BookingMapper.bookingDtos(entityValidator.requireUserIfEmpty(userId, bookings));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllOwnersBooking(Long userId, String state, int from, int size, String cursor) {
+        List<Booking> bookings = cursor == null
+                ? findOwnerBookings(userId, state, OffsetPageRequest.of(from, size, NEWEST_FIRST))
+                : findOwnerBookingsBefore(userId, state, KeysetCursor.decode(cursor),
+                PageRequest.of(0, size, NEWEST_FIRST));
+        return BookingMapper.bookingDtos(entityValidator.requireUserIfEmpty(userId, bookings));
+    }
+
+    private List<Booking> findUserBookings(Long userId, String state, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
             case "ALL":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByBooker_IdOrderByStartDesc(userId,
-                        Pageable.unpaged()));
-                if ((bookingDtos.size() - from) < size) {
-                    size = bookingDtos.size() - from;
-                }
-                pageRequest = PageRequest.of(from, size);
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByBooker_IdOrderByStartDesc(userId,
-                        pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByBooker_IdOrderByStartDesc(userId, page);
             case "APPROVED":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByBooker_IdAndState(userId,
-                        BookingStatus.APPROVED, pageRequest));
-                return bookingDtos;
             case "REJECTED":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByBooker_IdAndState(userId,
-                        BookingStatus.REJECTED, pageRequest));
-                return bookingDtos;
             case "WAITING":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByBooker_IdAndState(userId,
-                        BookingStatus.WAITING, pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByBooker_IdAndState(userId, BookingStatus.valueOf(state), page);
             case "CURRENT":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByBooker_IdAndEndIsAfterAndStartIsBefore(
-                        userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByBooker_IdAndEndIsAfterAndStartIsBefore(userId, now, now, page);
             case "PAST":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByBooker_IdAndEndIsBeforeOrderByStartDesc(
-                        userId, LocalDateTime.now(), pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByBooker_IdAndEndIsBeforeOrderByStartDesc(userId, now, page);
             case "FUTURE":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByBooker_IdAndStartIsAfterOrderByStartDesc(
-                        userId, LocalDateTime.now(), pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByBooker_IdAndStartIsAfterOrderByStartDesc(userId, now, page);
             default:
                 throw new StateException("UNKNOWN_STATE");
         }
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<BookingDto> getAllOwnersBooking(Long userId, String state, int from, int size) {
-        userRepository.findById(userId).orElseThrow(()
-                -> new NoSuchObjectException(String.format("User with ID=%s not found", userId)));
-        List<BookingDto> bookingDtos;
-        PageRequest pageRequest = PageRequest.of(from, size);
+    private List<Booking> findOwnerBookings(Long ownerId, String state, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
         switch (state) {
             case "ALL":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByItem_OwnerIdOrderByStartDesc(userId,
-                        pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByItem_OwnerIdOrderByStartDesc(ownerId, page);
             case "APPROVED":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByItem_OwnerIdAndState(userId,
-                        BookingStatus.APPROVED, pageRequest));
-                return bookingDtos;
             case "REJECTED":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByItem_OwnerIdAndState(userId,
-                        BookingStatus.REJECTED, pageRequest));
-                return bookingDtos;
             case "WAITING":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByItem_OwnerIdAndState(userId,
-                        BookingStatus.WAITING, pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByItem_OwnerIdAndState(ownerId, BookingStatus.valueOf(state), page);
             case "CURRENT":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository.findByItem_OwnerIdAndEndIsAfterAndStartIsBefore(
-                        userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByItem_OwnerIdAndEndIsAfterAndStartIsBefore(ownerId, now, now, page);
             case "PAST":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository
-                        .findByItem_OwnerIdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now(),
-                                pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByItem_OwnerIdAndEndIsBeforeOrderByStartDesc(ownerId, now, page);
             case "FUTURE":
-                bookingDtos = BookingMapper.bookingDtos(bookingRepository
-                        .findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now(),
-                                pageRequest));
-                return bookingDtos;
+                return bookingRepository.findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(ownerId, now, page);
+            default:
+                throw new StateException("UNKNOWN_STATE");
+        }
+    }
+
+    private List<Booking> findUserBookingsBefore(Long userId, String state, KeysetCursor cursor, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findByBookerIdBeforeCursor(userId, cursor.getTime(), cursor.getId(), page);
+            case "APPROVED":
+            case "REJECTED":
+            case "WAITING":
+                return bookingRepository.findByBookerIdAndStateBeforeCursor(userId, cursor.getTime(), cursor.getId(),
+                        BookingStatus.valueOf(state), page);
+            case "CURRENT":
+                return bookingRepository.findCurrentByBookerIdBeforeCursor(userId, cursor.getTime(), cursor.getId(),
+                        now, page);
+            case "PAST":
+                return bookingRepository.findPastByBookerIdBeforeCursor(userId, cursor.getTime(), cursor.getId(),
+                        now, page);
+            case "FUTURE":
+                return bookingRepository.findFutureByBookerIdBeforeCursor(userId, cursor.getTime(), cursor.getId(),
+                        now, page);
+            default:
+                throw new StateException("UNKNOWN_STATE");
+        }
+    }
+
+    private List<Booking> findOwnerBookingsBefore(Long ownerId, String state, KeysetCursor cursor, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findByOwnerIdBeforeCursor(ownerId, cursor.getTime(), cursor.getId(), page);
+            case "APPROVED":
+            case "REJECTED":
+            case "WAITING":
+                return bookingRepository.findByOwnerIdAndStateBeforeCursor(ownerId, cursor.getTime(), cursor.getId(),
+                        BookingStatus.valueOf(state), page);
+            case "CURRENT":
+                return bookingRepository.findCurrentByOwnerIdBeforeCursor(ownerId, cursor.getTime(), cursor.getId(),
+                        now, page);
+            case "PAST":
+                return bookingRepository.findPastByOwnerIdBeforeCursor(ownerId, cursor.getTime(), cursor.getId(),
+                        now, page);
+            case "FUTURE":
+                return bookingRepository.findFutureByOwnerIdBeforeCursor(ownerId, cursor.getTime(), cursor.getId(),
+                        now, page);
             default:
                 throw new StateException("UNKNOWN_STATE");
         }
@@ -170,18 +296,61 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingDto approve(long ownerId, long bookingId, boolean approved) {
-        User owner = userRepository.findById(ownerId).orElseThrow(() -> new NoSuchObjectException("User nof found"));
-        Booking booking = bookingRepository.findByItem_OwnerIdAndId(owner.getId(), bookingId);
-
-        if (!booking.getState().equals(BookingStatus.WAITING)) {
-            throw new ItemsAvailabilityException("Status cannot be changed");
+        BookingStatus state = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        boolean changed = bookingRepository.updateState(bookingId, ownerId, BookingStatus.WAITING, state) == 1;
+        Booking booking = bookingRepository.findByItem_OwnerIdAndId(ownerId, bookingId);
+        if (booking == null) {
+            if (!userRepository.existsById(ownerId)) {
+                throw new NoSuchObjectException("User nof found");
+            }
+            throw new NoSuchObjectException("Booking not found");
         }
-        if (approved) {
-            booking.setState(BookingStatus.APPROVED);
-        } else {
-            booking.setState(BookingStatus.REJECTED);
+        if (!changed) {
+            throw new ItemsAvailabilityException("Status cannot be changed");
         }
-        bookingRepository.save(booking);
         return BookingMapper.bookingToBookingDto(booking);
     }
+
+    @Override
+    @Transactional
+    public List<BookingDecisionDto> approveAll(long ownerId, Collection<Long> bookingIds, boolean approved) {
+        BookingStatus state = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookingStatus> states = bookingRepository.findStates(ownerId, ids).stream()
+                .collect(Collectors.toMap(BookingStateView::getId, BookingStateView::getState, (a, b) -> a,
+                        HashMap::new));
+        if (states.isEmpty() && !userRepository.existsById(ownerId)) {
+            throw new NoSuchObjectException("User nof found");
+        }
+        Set<Long> waiting = states.entrySet().stream()
+                .filter(entry -> entry.getValue() == BookingStatus.WAITING)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<Long> applied = new HashSet<>();
+        if (!waiting.isEmpty()) {
+            bookingRepository.updateWaitingStates(ownerId, waiting, state).forEach(view -> {
+                applied.add(view.getId());
+                states.put(view.getId(), view.getState());
+            });
+        }
+        if (applied.size() < waiting.size()) {
+            // A concurrent decision got to the rest first, even if it chose the same state; report what it left.
+            waiting.removeAll(applied);
+            bookingRepository.findStates(ownerId, waiting)
+                    .forEach(view -> states.put(view.getId(), view.getState()));
+        }
+        return ids.stream()
+                .map(id -> BookingDecisionDto.create(id, outcome(id, applied, states), states.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    private static BookingDecisionDto.Outcome outcome(Long id, Set<Long> applied, Map<Long, BookingStatus> states) {
+        if (applied.contains(id)) {
+            return BookingDecisionDto.Outcome.APPLIED;
+        }
+        return states.containsKey(id) ? BookingDecisionDto.Outcome.NOT_WAITING : BookingDecisionDto.Outcome.NOT_FOUND;
+    }
 }
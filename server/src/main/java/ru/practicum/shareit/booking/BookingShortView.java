@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+public interface BookingShortView {
+    Long getId();
+
+    Long getBookerId();
+
+    Long getItemId();
+}
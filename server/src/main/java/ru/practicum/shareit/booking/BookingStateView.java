@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking;
+
+public interface BookingStateView {
+    Long getId();
+
+    BookingStatus getState();
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.BookingStatus;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor(staticName = "create")
+public class BookingDecisionDto {
+    Long id;
+    Outcome outcome;
+    BookingStatus status;
+
+    public enum Outcome {
+        APPLIED,
+        NOT_WAITING,
+        NOT_FOUND
+    }
+}
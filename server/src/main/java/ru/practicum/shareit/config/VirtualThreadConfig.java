@@ -0,0 +1,54 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling, and with it the {@code @Transactional} service calls, on virtual threads when
+ * {@code shareit.threads=virtual}. The mode needs a Java 21 runtime and the {@code virtual-threads} Maven profile,
+ * which builds for Java 21 with Tomcat and Hikari releases that do not pin carrier threads on JDBC waits. Tomcat
+ * no longer caps the number of threads in this mode, so the Hikari pool is what bounds concurrent database work.
+ * {@code shareit.threads.trace-pinned=short|full} sets {@code jdk.tracePinnedThreads} before the first virtual
+ * thread starts, to report any remaining pinning.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads", havingValue = "virtual")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor(@Value("${shareit.threads.trace-pinned:}") String tracePinned) {
+        if (!tracePinned.isEmpty()) {
+            System.setProperty("jdk.tracePinnedThreads", tracePinned);
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(String.format(
+                    "shareit.threads=virtual requires Java 21 and the virtual-threads build profile, running on %s",
+                    Runtime.version()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create a virtual thread executor", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
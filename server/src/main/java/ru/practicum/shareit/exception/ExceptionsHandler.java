@@ -1,5 +1,6 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -28,4 +29,10 @@ public class ExceptionsHandler {
     public ErrorResponse itemNotFoundException(final RuntimeException e) {
         return new ErrorResponse("Object Exception: ", e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse conflictException(final OptimisticLockingFailureException e) {
+        return new ErrorResponse("Conflict Exception: ", e.getMessage());
+    }
 }
\ No newline at end of file
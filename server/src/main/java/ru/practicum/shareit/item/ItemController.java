@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.comment.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemBookingHistoryDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -9,6 +10,7 @@ import ru.practicum.shareit.item.model.ItemService;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/items")
@@ -37,13 +39,20 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemBookingHistoryDto get(@RequestHeader("X-Sharer-User-Id") long userId,
-                                     @PathVariable long itemId) {
+                                     @PathVariable long itemId,
+                                     WebRequest request) {
+        Optional<String> tag = itemService.getEntityTag(itemId, userId);
+        if (tag.isPresent() && request.checkNotModified(tag.get())) {
+            return null;
+        }
         return itemService.getItem(itemId, userId);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text) {
-        return itemService.searchItemByDescription(text);
+    public List<ItemDto> search(@RequestParam String text,
+                                @RequestParam(defaultValue = "0") int from,
+                                @RequestParam(defaultValue = "10") int size) {
+        return itemService.searchItemByDescription(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
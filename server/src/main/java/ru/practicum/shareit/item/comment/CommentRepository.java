@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @Query("SELECT c FROM Comment as c WHERE c.item.id = ?1")
-    List<Comment> findAllByItemId(Long itemId);
+    @Query("SELECT c FROM Comment as c JOIN FETCH c.author WHERE c.item.id IN ?1 ORDER BY c.id")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
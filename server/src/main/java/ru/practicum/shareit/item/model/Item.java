@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.persistence.VersionedEntity;
 
 import javax.persistence.*;
 
@@ -15,9 +16,10 @@ import javax.persistence.*;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @AllArgsConstructor(staticName = "create")
 @NoArgsConstructor
-public class Item {
+public class Item extends VersionedEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     Long id;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
@@ -28,6 +30,6 @@ public class Item {
     String description;
     @Column(name = "name")
     String name;
-    @Transient
+    @Column(name = "request_id")
     Long requestId;
 }
\ No newline at end of file
@@ -30,6 +30,17 @@ public final class ItemMapper {
                 item.getRequestId());
     }
 
+    public static ItemBookingHistoryDto viewToItemBookingHistoryDto(ItemView item) {
+        return ItemBookingHistoryDto.create(item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                null,
+                null,
+                new ArrayList<>(),
+                item.getRequestId());
+    }
+
     public static Item dtoToItem(ItemDto itemDto, User owner) {
         return Item.create(itemDto.getId(),
                 owner,
@@ -1,15 +1,54 @@
 package ru.practicum.shareit.item.model;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.config.CacheConfig;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("select it from Item as it join it.owner as o where o.id =?1 ORDER BY it.id ASC ")
     List<Item> findItemsByOwner(long ownerId);
 
-    @Query("select it from Item as it where UPPER(it.name) like UPPER(concat('%',?1,'%')) " +
-            "or UPPER (it.description) like UPPER(concat('%',?1,'%')) and it.available = true")
-    List<Item> findItemByNameAndDescription(String searchText);
-}
\ No newline at end of file
+    @Query(value = "SELECT i.* FROM items AS i WHERE i.is_available " +
+            "AND (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) " +
+            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) " +
+            "ORDER BY UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) DESC, " +
+            "similarity(UPPER(i.name), UPPER(:text)) DESC, i.id", nativeQuery = true)
+    List<Item> findItemByNameAndDescription(@Param("text") String searchText, Pageable pageable);
+
+    @Cacheable(cacheNames = CacheConfig.ITEMS, unless = "#result == null")
+    @Query("select it.id as id, it.name as name, it.description as description, it.available as available, " +
+            "it.requestId as requestId, it.owner.id as ownerId from Item as it where it.id = ?1")
+    Optional<ItemView> findViewById(Long itemId);
+
+    @Query(value = "SELECT i.version || '.' || (i.owner_id = :userId) || '.' || " +
+            "(SELECT COUNT(*) || '.' || COALESCE(SUM(a.version), 0) FROM comments AS c " +
+            "JOIN users AS a ON a.id = c.author_id WHERE c.item_id = i.id) || '.' || " +
+            "(SELECT COUNT(*) || '.' || COALESCE(SUM(b.version), 0) || '.' || COUNT(*) FILTER (WHERE b.start_time < :now) " +
+            "FROM bookings AS b WHERE b.item_id = i.id) " +
+            "FROM items AS i WHERE i.id = :itemId", nativeQuery = true)
+    Optional<String> findVersionTag(@Param("itemId") Long itemId, @Param("userId") Long userId,
+                                    @Param("now") LocalDateTime now);
+
+    @Query("select it from Item as it join fetch it.owner where it.requestId in ?1 order by it.id")
+    List<Item> findWithOwnerByRequestIdIn(Collection<Long> requestIds);
+
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select it from Item as it join fetch it.owner where it.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select it from Item as it join fetch it.owner where it.id in ?1 order by it.id")
+    List<Item> findAllByIdForUpdate(Collection<Long> itemIds);
+}
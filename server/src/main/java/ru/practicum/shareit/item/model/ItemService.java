@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.dto.ItemBookingHistoryDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemService {
 
@@ -14,9 +15,11 @@ public interface ItemService {
 
     ItemBookingHistoryDto getItem(long itemId, long userId);
 
+    Optional<String> getEntityTag(long itemId, long userId);
+
     List<ItemBookingHistoryDto> getUsersOwnItems(long ownerId);
 
-    List<ItemDto> searchItemByDescription(String searchText);
+    List<ItemDto> searchItemByDescription(String searchText, int from, int size);
 
     CommentDTO addComment(long itemId, long userId, CommentDTO commentDTO);
 }
\ No newline at end of file
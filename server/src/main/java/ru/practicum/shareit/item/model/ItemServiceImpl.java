@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.CommentException;
 import ru.practicum.shareit.exception.NoSuchObjectException;
 import ru.practicum.shareit.item.comment.Comment;
@@ -15,14 +19,17 @@ import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.dto.ItemBookingHistoryDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.RequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,24 +42,24 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final RequestRepository requestRepository;
+    private final ItemSearchEngine searchEngine;
 
     @Override
     @Transactional
     public ItemDto addItem(ItemDto itemDto, long ownerId) {
         User user = userRepository.findById(ownerId).orElseThrow(() ->
                 new NoSuchObjectException(String.format("There is no User with ID=%s.", ownerId)));
-        Item item = repository.save(ItemMapper.dtoToItem(itemDto, user));
-        if (itemDto.getRequestId() != null) {
-            ItemRequest itemRequest = requestRepository.findById(itemDto.getRequestId()).get();
-            itemRequest.setItem(item);
-            requestRepository.save(itemRequest);
-            item.setRequestId(itemRequest.getId());
+        if (itemDto.getRequestId() != null && !requestRepository.existsById(itemDto.getRequestId())) {
+            throw new NoSuchObjectException(String.format("There is no Request with ID=%s.", itemDto.getRequestId()));
         }
+        Item item = repository.save(ItemMapper.dtoToItem(itemDto, user));
+        searchEngine.index(item);
         return ItemMapper.itemToDto(item);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
     public ItemDto updateItem(ItemDto itemDto, long ownerId, long itemId) {
         if (repository.existsById(itemId)) {
             Item oldItem = repository.findById(itemId).get();
@@ -70,6 +77,7 @@ public class ItemServiceImpl implements ItemService {
                 oldItem.setDescription(itemDto.getDescription());
             }
             repository.save(oldItem);
+            searchEngine.index(oldItem);
             return ItemMapper.itemToDto(oldItem);
         } else {
             throw new NoSuchObjectException(String.format("There is no Item with ID=%s.", itemId));
@@ -79,40 +87,41 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional(readOnly = true)
     public ItemBookingHistoryDto getItem(long itemId, long userId) {
-        Item item = repository.findById(itemId).orElseThrow(() ->
+        ItemView item = repository.findViewById(itemId).orElseThrow(() ->
                 new NoSuchObjectException(String.format("Item with ID=%s not found", itemId)));
-        List<Booking> itemBookings = bookingRepository.findByItem_IdOrderByStartDesc(itemId);
-        List<Comment> itemComments = commentRepository.findAllByItemId(itemId);
-        ItemBookingHistoryDto itemBookingHistoryDto = ItemMapper.itemBookingHistoryDto(item);
-        if (item.getOwner().getId() == userId) {
-            setBookings(itemBookingHistoryDto, itemBookings, item.getOwner(), LocalDateTime.now());
-        }
-        setComments(itemBookingHistoryDto, itemComments);
+        List<Long> ownedItemIds = item.getOwnerId() == userId ? List.of(item.getId()) : List.of();
+        return assembleBookingHistory(List.of(ItemMapper.viewToItemBookingHistoryDto(item)), ownedItemIds).get(0);
+    }
 
-        return itemBookingHistoryDto;
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getEntityTag(long itemId, long userId) {
+        return repository.findVersionTag(itemId, userId, LocalDateTime.now());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ItemBookingHistoryDto> getUsersOwnItems(long ownerId) {
-        List<Item> items = repository.findItemsByOwner(ownerId);
-        return items.stream().map(i -> getItem(i.getId(), ownerId)).collect(Collectors.toList());
+        List<ItemBookingHistoryDto> items = repository.findItemsByOwner(ownerId).stream()
+                .map(ItemMapper::itemBookingHistoryDto)
+                .collect(Collectors.toList());
+        List<Long> itemIds = items.stream().map(ItemBookingHistoryDto::getId).collect(Collectors.toList());
+        return assembleBookingHistory(items, itemIds);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemDto> searchItemByDescription(String searchText) {
+    public List<ItemDto> searchItemByDescription(String searchText, int from, int size) {
         if (searchText.isBlank()) {
             return new ArrayList<>();
         }
-        List<Item> items = repository.findItemByNameAndDescription(searchText);
-        return items.stream().map(ItemMapper::itemToDto).collect(Collectors.toList());
+        return searchEngine.search(searchText, PageRequest.of(from / size, size));
     }
 
     @Override
     @Transactional
     public CommentDTO addComment(long itemId, long userId, CommentDTO commentDTO) {
-        Item item = repository.findById(itemId).get();
+        Item item = repository.getReferenceById(itemId);
         User user = userRepository.findById(userId).get();
         List<Booking> booking = bookingRepository.findByBookerAndItem(userId, itemId, BookingStatus.APPROVED);
         for (Booking b : booking) {
@@ -126,58 +135,41 @@ public class ItemServiceImpl implements ItemService {
         throw new CommentException(String.format("User with ID=?s didn't book item with ID=?s", userId, itemId));
     }
 
-    private void setBookings(ItemBookingHistoryDto item, List<Booking> bookings, User owner, LocalDateTime r) {
-        System.out.println(r + " - requset time; itemID - " + item.getId() + " ownerId - " + owner.getId());
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-
-        for (Booking booking : bookings) {
-            if (booking.getItem().getOwner().getId().longValue() == owner.getId().longValue() &&
-                    booking.getState() != BookingStatus.REJECTED) {
-                System.out.println(booking.getId() + " is owned by " + owner.getId() + " and status OK");
-                //Find NextBooking
-                if (booking.getStart().isAfter(r) && booking.getEnd().isAfter(r)) {
-                    System.out.println(booking.getId() + " start date is after " + r + " - Yes, next booking");
-                    item.setNextBooking(BookingMapper.bookingToBookingShort(booking));
-                    continue;
-                }
-            }
+    private List<ItemBookingHistoryDto> assembleBookingHistory(List<ItemBookingHistoryDto> items,
+                                                               List<Long> ownedItemIds) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
         }
-        for (Booking booking : bookings) {
-            if (booking.getItem().getOwner().getId().longValue() == owner.getId().longValue() &&
-                    booking.getState() != BookingStatus.REJECTED) {
-                System.out.println(booking.getId() + " is owned by " + owner.getId() + " and status OK");
-                //Find Last Booking
-                if (booking.getStart().isBefore(r) && (booking.getEnd().isBefore(r) || booking.getEnd().isAfter(r))) {
-                    System.out.println(booking.getId() + " start date is before " + r + " - Yes, last booking");
-                    item.setLastBooking(BookingMapper.bookingToBookingShort(booking));
-                    break;
-                }
-            }
+        List<Long> itemIds = items.stream().map(ItemBookingHistoryDto::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDtoShort> lastBookings = new HashMap<>();
+        Map<Long, BookingDtoShort> nextBookings = new HashMap<>();
+        if (ownedItemIds.size() == 1) {
+            Long itemId = ownedItemIds.get(0);
+            bookingRepository.findLastBooking(itemId, now).ifPresent(b ->
+                    lastBookings.put(itemId, BookingMapper.bookingViewToBookingShort(b)));
+            bookingRepository.findNextBooking(itemId, now).ifPresent(b ->
+                    nextBookings.put(itemId, BookingMapper.bookingViewToBookingShort(b)));
+        } else if (!ownedItemIds.isEmpty()) {
+            bookingRepository.findLastBookings(ownedItemIds, now).forEach(b ->
+                    lastBookings.put(b.getItemId(), BookingMapper.bookingViewToBookingShort(b)));
+            bookingRepository.findNextBookings(ownedItemIds, now).forEach(b ->
+                    nextBookings.put(b.getItemId(), BookingMapper.bookingViewToBookingShort(b)));
         }
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-        System.out.println("//////////////////////////////");
-    }
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
 
+        for (ItemBookingHistoryDto itemBookingHistoryDto : items) {
+            itemBookingHistoryDto.setLastBooking(lastBookings.get(itemBookingHistoryDto.getId()));
+            itemBookingHistoryDto.setNextBooking(nextBookings.get(itemBookingHistoryDto.getId()));
+            setComments(itemBookingHistoryDto, comments.getOrDefault(itemBookingHistoryDto.getId(), List.of()));
+        }
+        return items;
+    }
 
     private void setComments(ItemBookingHistoryDto itemBookingHistoryDto, List<Comment> comments) {
         for (Comment c : comments) {
-            User user = userRepository.findById(c.getAuthor().getId()).get();
-            itemBookingHistoryDto.getComments().add(CommentMapper.commentToDto(c, user));
+            itemBookingHistoryDto.getComments().add(CommentMapper.commentToDto(c, c.getAuthor()));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemMapper;
+import ru.practicum.shareit.item.model.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Trigram posting lists over the names and descriptions of available items. Postings are sorted
+ * {@code long[]} arrays of item ids; a query intersects the postings of its trigrams and then checks
+ * the candidates for a real substring match, so results are the same as for the database engine.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM = 3;
+    private static final int LOAD_BATCH = 1000;
+
+    private final ItemRepository itemRepository;
+    private final Map<String, long[]> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        Map<String, PostingBuilder> builders = new HashMap<>();
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(lastId,
+                    PageRequest.of(0, LOAD_BATCH));
+            for (Item item : batch) {
+                Document document = new Document(ItemMapper.itemToDto(item));
+                documents.put(item.getId(), document);
+                for (String gram : document.grams()) {
+                    builders.computeIfAbsent(gram, g -> new PostingBuilder()).add(item.getId());
+                }
+                lastId = item.getId();
+            }
+        } while (batch.size() == LOAD_BATCH);
+        builders.forEach((gram, builder) -> postings.put(gram, builder.toArray()));
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        String query = text.toUpperCase();
+        lock.readLock().lock();
+        try {
+            return candidates(query)
+                    .filter(document -> document.name.contains(query) || document.description.contains(query))
+                    .sorted(Comparator.comparing((Document document) -> !document.name.contains(query))
+                            .thenComparing(document -> document.item.getId()))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .map(document -> document.item)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        Document document = new Document(ItemMapper.itemToDto(item));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(document);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(document);
+            }
+        });
+    }
+
+    private void apply(Document document) {
+        long id = document.item.getId();
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                previous.grams().forEach(gram -> removePosting(gram, id));
+            }
+            if (Boolean.TRUE.equals(document.item.getAvailable())) {
+                documents.put(id, document);
+                document.grams().forEach(gram -> addPosting(gram, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Stream<Document> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.values().stream();
+        }
+        List<long[]> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            long[] posting = postings.get(gram);
+            if (posting == null) {
+                return Stream.empty();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(posting -> posting.length));
+        long[] ids = lists.get(0);
+        for (int i = 1; i < lists.size() && ids.length > 0; i++) {
+            ids = intersect(ids, lists.get(i));
+        }
+        return Arrays.stream(ids).mapToObj(documents::get);
+    }
+
+    private void addPosting(String gram, long id) {
+        long[] posting = postings.getOrDefault(gram, new long[0]);
+        int position = Arrays.binarySearch(posting, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        long[] updated = new long[posting.length + 1];
+        System.arraycopy(posting, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(posting, insertAt, updated, insertAt + 1, posting.length - insertAt);
+        postings.put(gram, updated);
+    }
+
+    private void removePosting(String gram, long id) {
+        long[] posting = postings.get(gram);
+        int position = posting == null ? -1 : Arrays.binarySearch(posting, id);
+        if (position < 0) {
+            return;
+        }
+        if (posting.length == 1) {
+            postings.remove(gram);
+            return;
+        }
+        long[] updated = new long[posting.length - 1];
+        System.arraycopy(posting, 0, updated, 0, position);
+        System.arraycopy(posting, position + 1, updated, position, posting.length - position - 1);
+        postings.put(gram, updated);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+        final ItemDto item;
+        final String name;
+        final String description;
+
+        Document(ItemDto item) {
+            this.item = item;
+            this.name = item.getName() == null ? "" : item.getName().toUpperCase();
+            this.description = item.getDescription() == null ? "" : item.getDescription().toUpperCase();
+        }
+
+        Set<String> grams() {
+            Set<String> grams = InMemoryItemSearchEngine.grams(name);
+            grams.addAll(InMemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+    }
+
+    private static final class PostingBuilder {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+
+import javax.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque position in a listing ordered by (time DESC, id DESC). Clients get it back in the
+ * {@value #HEADER} response header and pass it as the {@code cursor} parameter to fetch the next page.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor(staticName = "of")
+public class KeysetCursor {
+    public static final String HEADER = "X-Next-Cursor";
+    private static final char SEPARATOR = '|';
+
+    LocalDateTime time;
+    Long id;
+
+    public String encode() {
+        String raw = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return of(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException(String.format("Invalid cursor: %s", cursor));
+        }
+    }
+
+    public static <T> ResponseEntity<List<T>> page(List<T> content, int size,
+                                                   Function<T, LocalDateTime> time, Function<T, Long> id) {
+        if (content.isEmpty() || content.size() < size) {
+            return ResponseEntity.ok(content);
+        }
+        T last = content.get(content.size() - 1);
+        return ResponseEntity.ok()
+                .header(HEADER, of(time.apply(last), id.apply(last)).encode())
+                .body(content);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.persistence;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
+
+/**
+ * Optimistic-lock version, bumped by Hibernate on every update. Entity tags for conditional GETs are built from it.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public abstract class VersionedEntity {
+    @Version
+    @JsonIgnore
+    @Column(name = "version", nullable = false)
+    long version;
+}
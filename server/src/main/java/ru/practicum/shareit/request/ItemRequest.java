@@ -3,7 +3,7 @@ package ru.practicum.shareit.request;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.persistence.VersionedEntity;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -18,16 +18,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor(staticName = "create")
 @NoArgsConstructor
 @ToString
-public class ItemRequest {
+public class ItemRequest extends VersionedEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_seq")
+    @SequenceGenerator(name = "request_seq", sequenceName = "request_seq", allocationSize = 50)
     Long id;
     String description;
     LocalDateTime created;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id")
     User requester;
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "item_id")
-    Item item;
 }
\ No newline at end of file
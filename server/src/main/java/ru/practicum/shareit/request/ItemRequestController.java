@@ -1,12 +1,16 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * TODO Sprint add-item-requests.
@@ -32,16 +36,23 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    List<ItemRequestDto> getOtherRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @RequestParam(defaultValue = "0") @Min(0)  int from,
-                                         @RequestParam(defaultValue = "10") @Min(1)  int size) {
-        return itemRequestService.getOtherRequest(userId, from, size);
+    ResponseEntity<List<ItemRequestDto>> getOtherRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @RequestParam(defaultValue = "0") @Min(0)  int from,
+                                                         @RequestParam(defaultValue = "10") @Min(1)  int size,
+                                                         @RequestParam(required = false) String cursor) {
+        return KeysetCursor.page(itemRequestService.getOtherRequest(userId, from, size, cursor), size,
+                ItemRequestDto::getCreated, ItemRequestDto::getId);
     }
 
 
     @GetMapping("/{requestId}")
     public ItemRequestDto get(@RequestHeader("X-Sharer-User-Id") Long userId,
-                              @PathVariable long requestId) {
+                              @PathVariable long requestId,
+                              WebRequest request) {
+        Optional<String> tag = itemRequestService.getEntityTag(userId, requestId);
+        if (tag.isPresent() && request.checkNotModified(tag.get())) {
+            return null;
+        }
         return itemRequestService.get(userId, requestId);
     }
 
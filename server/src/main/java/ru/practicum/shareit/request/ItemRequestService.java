@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestService {
     ItemRequestDto addItem(ItemRequestDto itemRequestDto, Long userId);
@@ -11,5 +12,7 @@ public interface ItemRequestService {
 
     ItemRequestDto get(Long userId, long requestId);
 
-    List<ItemRequestDto> getOtherRequest(Long userId, int from, int size);
+    Optional<String> getEntityTag(Long userId, long requestId);
+
+    List<ItemRequestDto> getOtherRequest(Long userId, int from, int size, String cursor);
 }
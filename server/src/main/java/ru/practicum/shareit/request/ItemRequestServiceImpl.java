@@ -2,27 +2,37 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NoSuchObjectException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.validation.EntityValidator;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional()
 public class ItemRequestServiceImpl implements ItemRequestService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
+    private static final Sort MOST_RECENT_FIRST = Sort.by(Sort.Direction.DESC, "created", "id");
+
     private final RequestRepository requestRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final EntityValidator entityValidator;
 
     @Override
     public ItemRequestDto addItem(ItemRequestDto itemRequestDto, Long userId) {
@@ -35,51 +45,50 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestDto> getUsersAll(Long userId, int from, int size) {
-        userRepository.findById(userId).orElseThrow(() -> new NoSuchObjectException("User has not found."));
-        List<ItemRequest> itemRequests = requestRepository.findAllByRequesterId(userId, PageRequest.of(from, size));
-        if (itemRequests.isEmpty()) {
-            return new ArrayList<>();
-        }
-        List<ItemRequestDto> requestDtos = new ArrayList<>();
-        for (ItemRequest ir : itemRequests) {
-            ItemRequestDto dto = ItemRequestMapper.requestToDto(itemRequests.get(from));
-            if (ir.getItem() != null) {
-                Item item = itemRepository.findById(ir.getItem().getId()).get();
-                item.setRequestId(ir.getId());
-                dto.getItems().add(item);
-            }
-            requestDtos.add(dto);
-        }
-        return requestDtos;
+        return requestDtos(entityValidator.requireUserIfEmpty(userId,
+                requestRepository.findAllByRequesterId(userId, OffsetPageRequest.of(from, size, NEWEST_FIRST))));
     }
 
     @Override
     @Transactional(readOnly = true)
     public ItemRequestDto get(Long userId, long requestId) {
-        userRepository.findById(userId).orElseThrow(() -> new NoSuchObjectException("User has not found."));
+        entityValidator.requireUser(userId);
         ItemRequest itemRequest = requestRepository.findById(requestId).orElseThrow(() ->
                 new NoSuchObjectException("Request has not found."));
-        Item item = itemRepository.findById(itemRequest.getItem().getId()).get();
-        item.setRequestId(requestId);
-        ItemRequestDto itemRequestDto = ItemRequestMapper.requestToDto(itemRequest);
-        itemRequestDto.getItems().add(item);
-        return itemRequestDto;
+        return requestDtos(List.of(itemRequest)).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getEntityTag(Long userId, long requestId) {
+        return requestRepository.findVersionTag(requestId, userId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemRequestDto> getOtherRequest(Long userId, int from, int size) {
-        List<ItemRequest> itemRequests = requestRepository.findAllByRequesterIdIsNot(userId, PageRequest.of(from, size));
-        List<ItemRequestDto> requestDtos = new ArrayList<>();
-        for (ItemRequest ir : itemRequests) {
-            ItemRequestDto dto = ItemRequestMapper.requestToDto(ir);
-            if (ir.getItem() != null) {
-                Item item = itemRepository.findById(ir.getItem().getId()).get();
-                item.setRequestId(ir.getRequester().getId());
-                dto.getItems().add(item);
-            }
-            requestDtos.add(dto);
+    public List<ItemRequestDto> getOtherRequest(Long userId, int from, int size, String cursor) {
+        if (cursor == null) {
+            return requestDtos(requestRepository.findAllByRequesterIdIsNot(userId,
+                    OffsetPageRequest.of(from, size, MOST_RECENT_FIRST)));
+        }
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        return requestDtos(requestRepository.findOthersBeforeCursor(userId, position.getTime(), position.getId(),
+                PageRequest.of(0, size, MOST_RECENT_FIRST)));
+    }
+
+    private List<ItemRequestDto> requestDtos(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
         }
-        return requestDtos;
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<Item>> items = itemRepository.findWithOwnerByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestDto dto = ItemRequestMapper.requestToDto(itemRequest);
+                    dto.getItems().addAll(items.getOrDefault(itemRequest.getId(), List.of()));
+                    return dto;
+                })
+                .collect(Collectors.toList());
     }
 }
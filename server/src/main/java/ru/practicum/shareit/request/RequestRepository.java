@@ -2,8 +2,12 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface RequestRepository extends JpaRepository<ItemRequest, Long> {
 
@@ -11,4 +15,14 @@ public interface RequestRepository extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findAllByRequesterIdIsNot(Long userId, Pageable pageable);
 
+    @Query("SELECT r FROM ItemRequest AS r WHERE r.requester.id <> ?1 " +
+            "AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3))")
+    List<ItemRequest> findOthersBeforeCursor(Long userId, LocalDateTime created, Long id, Pageable pageable);
+
+    @Query(value = "SELECT r.version || '.' || " +
+            "(SELECT COUNT(*) || '.' || COALESCE(SUM(i.version), 0) || '.' || COALESCE(SUM(o.version), 0) " +
+            "FROM items AS i JOIN users AS o ON o.id = i.owner_id WHERE i.request_id = r.id) FROM request AS r " +
+            "WHERE r.id = :requestId AND EXISTS (SELECT 1 FROM users AS u WHERE u.id = :userId)", nativeQuery = true)
+    Optional<String> findVersionTag(@Param("requestId") Long requestId, @Param("userId") Long userId);
+
 }
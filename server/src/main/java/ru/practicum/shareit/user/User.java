@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.persistence.VersionedEntity;
 
 import javax.persistence.*;
 
@@ -14,9 +15,10 @@ import javax.persistence.*;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @AllArgsConstructor(staticName = "create")
 @NoArgsConstructor
-public class User {
+public class User extends VersionedEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     Long id;
     @Column(name = "name", nullable = false)
     String name;
@@ -2,9 +2,11 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/users")
@@ -23,7 +25,11 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getUser(@PathVariable long userId) {
+    public UserDto getUser(@PathVariable long userId, WebRequest request) {
+        Optional<String> tag = userService.getEntityTag(userId);
+        if (tag.isPresent() && request.checkNotModified(tag.get())) {
+            return null;
+        }
         return userService.get(userId);
     }
 
@@ -16,6 +16,12 @@ public class UserMapper {
                 user.getEmail());
     }
 
+    public static UserDto viewToDto(UserView user) {
+        return UserDto.create(user.getId(),
+                user.getName(),
+                user.getEmail());
+    }
+
     public static List<UserDto> userToDto(Collection<User> users) {
         return users.stream().map(UserMapper::userToDto).collect(Collectors.toList());
     }
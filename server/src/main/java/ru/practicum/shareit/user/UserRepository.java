@@ -1,9 +1,20 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.config.CacheConfig;
+
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-}
\ No newline at end of file
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email FROM User AS u WHERE u.id = ?1")
+    Optional<UserView> findViewById(Long id);
+
+    @Query("SELECT u.version FROM User AS u WHERE u.id = ?1")
+    Optional<Long> findVersionById(Long id);
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserService {
 
@@ -8,6 +9,8 @@ public interface UserService {
 
     UserDto get(long id);
 
+    Optional<String> getEntityTag(long id);
+
     UserDto create(UserDto user);
 
     UserDto update(UserDto user, long userId);
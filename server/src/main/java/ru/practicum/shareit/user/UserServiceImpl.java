@@ -1,11 +1,14 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.NoSuchObjectException;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -22,9 +25,15 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserDto get(long userId) {
-        User user = repository.findById(userId).orElseThrow(()
+        UserView user = repository.findViewById(userId).orElseThrow(()
                 -> new NoSuchObjectException(String.format("User with ID=%s not found", userId)));
-        return UserMapper.userToDto(user);
+        return UserMapper.viewToDto(user);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getEntityTag(long userId) {
+        return repository.findVersionById(userId).map(String::valueOf);
     }
 
     @Override
@@ -36,20 +45,22 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto update(UserDto userDto, long userId) {
-        User user = repository.findById(userId).get();
-        if (userDto.getEmail() != null) {
-            user.setEmail(userDto.getEmail());
-        }
+        User user = repository.findById(userId).orElseThrow(()
+                -> new NoSuchObjectException(String.format("User with ID=%s not found", userId)));
         if (userDto.getName() != null) {
             user.setName(userDto.getName());
         }
-        repository.save(user);
-        return UserMapper.userToDto(user);
+        if (userDto.getEmail() != null) {
+            user.setEmail(userDto.getEmail());
+        }
+        return UserMapper.userToDto(repository.save(user));
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto delete(long userId) {
         UserDto userDto = get(userId);
         repository.deleteById(userId);
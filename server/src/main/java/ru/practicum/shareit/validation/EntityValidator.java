@@ -0,0 +1,32 @@
+package ru.practicum.shareit.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NoSuchObjectException;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.Collection;
+
+@Component
+@RequiredArgsConstructor
+public class EntityValidator {
+
+    private final UserRepository userRepository;
+
+    public void requireUser(Long userId) {
+        if (userRepository.findViewById(userId).isEmpty()) {
+            throw new NoSuchObjectException(String.format("User with ID=%s not found", userId));
+        }
+    }
+
+    /**
+     * Checks the user only when a query scoped to that user came back empty, so a non-empty
+     * result costs no extra round trip.
+     */
+    public <T extends Collection<?>> T requireUserIfEmpty(Long userId, T result) {
+        if (result.isEmpty()) {
+            requireUser(userId);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,2 @@
+DROP INDEX CONCURRENTLY IF EXISTS IX_ITEMS_REQUEST;
+CREATE INDEX CONCURRENTLY IX_ITEMS_REQUEST ON Items (REQUEST_ID, ID);
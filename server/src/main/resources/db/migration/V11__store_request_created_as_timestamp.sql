@@ -0,0 +1,2 @@
+-- Legacy rows only stored the time of day; their date is unknown, so they are placed on 1970-01-01.
+ALTER TABLE Request ALTER COLUMN CREATED TYPE TIMESTAMP WITHOUT TIME ZONE USING DATE '1970-01-01' + CREATED;
@@ -0,0 +1,2 @@
+DROP INDEX CONCURRENTLY IF EXISTS IX_REQUEST_CREATED;
+CREATE INDEX CONCURRENTLY IX_REQUEST_CREATED ON Request (CREATED DESC, ID DESC);
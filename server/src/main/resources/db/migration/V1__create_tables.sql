@@ -1,6 +1,4 @@
-DROP TABLE IF EXISTS Users, Items, Bookings, Comments, Request;
-
-CREATE TABLE IF NOT EXISTS Users
+CREATE TABLE Users
 (
     ID    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
     NAME  VARCHAR                                          NOT NULL,
@@ -8,7 +6,7 @@ CREATE TABLE IF NOT EXISTS Users
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
-CREATE TABLE IF NOT EXISTS Items
+CREATE TABLE Items
 (
     ID           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
     OWNER_ID     BIGINT                                              NOT NULL,
@@ -18,7 +16,7 @@ CREATE TABLE IF NOT EXISTS Items
     FOREIGN KEY (OWNER_ID) REFERENCES USERS (ID)
 );
 
-CREATE TABLE IF NOT EXISTS Bookings
+CREATE TABLE Bookings
 (
     ID         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
     BOOKER_ID  BIGINT                                              NOT NULL,
@@ -30,7 +28,7 @@ CREATE TABLE IF NOT EXISTS Bookings
     FOREIGN KEY (ITEM_ID) references ITEMS (ID)
 );
 
-CREATE TABLE IF NOT EXISTS Comments
+CREATE TABLE Comments
 (
     ID        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
     TEXT      VARCHAR                                          NOT NULL,
@@ -41,7 +39,7 @@ CREATE TABLE IF NOT EXISTS Comments
     FOREIGN KEY (AUTHOR_ID) REFERENCES USERS (ID)
 );
 
-CREATE TABLE IF NOT EXISTS Request
+CREATE TABLE Request
 (
     ID           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
     REQUESTER_ID BIGINT                                              NOT NULL,
@@ -49,4 +47,4 @@ CREATE TABLE IF NOT EXISTS Request
     CREATED      TIME                                             NOT NULL,
     ITEM_ID      BIGINT,
     FOREIGN KEY (REQUESTER_ID) REFERENCES USERS (ID)
-);
\ No newline at end of file
+);
@@ -0,0 +1,11 @@
+DROP INDEX CONCURRENTLY IF EXISTS IX_BOOKINGS_BOOKER_START;
+CREATE INDEX CONCURRENTLY IX_BOOKINGS_BOOKER_START ON Bookings (BOOKER_ID, START_TIME DESC, ID DESC);
+
+DROP INDEX CONCURRENTLY IF EXISTS IX_BOOKINGS_BOOKER_STATE_START;
+CREATE INDEX CONCURRENTLY IX_BOOKINGS_BOOKER_STATE_START ON Bookings (BOOKER_ID, STATE, START_TIME DESC, ID DESC);
+
+DROP INDEX CONCURRENTLY IF EXISTS IX_BOOKINGS_ITEM_START;
+CREATE INDEX CONCURRENTLY IX_BOOKINGS_ITEM_START ON Bookings (ITEM_ID, START_TIME DESC, ID DESC);
+
+DROP INDEX CONCURRENTLY IF EXISTS IX_BOOKINGS_ITEM_STATE_START;
+CREATE INDEX CONCURRENTLY IX_BOOKINGS_ITEM_STATE_START ON Bookings (ITEM_ID, STATE, START_TIME DESC, ID DESC);
@@ -0,0 +1,8 @@
+DROP INDEX CONCURRENTLY IF EXISTS IX_ITEMS_OWNER;
+CREATE INDEX CONCURRENTLY IX_ITEMS_OWNER ON Items (OWNER_ID, ID);
+
+DROP INDEX CONCURRENTLY IF EXISTS IX_ITEMS_NAME_TRGM;
+CREATE INDEX CONCURRENTLY IX_ITEMS_NAME_TRGM ON Items USING GIN (UPPER(NAME) gin_trgm_ops) WHERE IS_AVAILABLE;
+
+DROP INDEX CONCURRENTLY IF EXISTS IX_ITEMS_DESCRIPTION_TRGM;
+CREATE INDEX CONCURRENTLY IX_ITEMS_DESCRIPTION_TRGM ON Items USING GIN (UPPER(DESCRIPTION) gin_trgm_ops) WHERE IS_AVAILABLE;
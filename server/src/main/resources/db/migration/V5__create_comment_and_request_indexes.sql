@@ -0,0 +1,8 @@
+DROP INDEX CONCURRENTLY IF EXISTS IX_COMMENTS_ITEM;
+CREATE INDEX CONCURRENTLY IX_COMMENTS_ITEM ON Comments (ITEM_ID, ID);
+
+DROP INDEX CONCURRENTLY IF EXISTS IX_COMMENTS_AUTHOR;
+CREATE INDEX CONCURRENTLY IX_COMMENTS_AUTHOR ON Comments (AUTHOR_ID);
+
+DROP INDEX CONCURRENTLY IF EXISTS IX_REQUEST_REQUESTER;
+CREATE INDEX CONCURRENTLY IX_REQUEST_REQUESTER ON Request (REQUESTER_ID, ID);
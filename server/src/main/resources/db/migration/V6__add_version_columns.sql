@@ -0,0 +1,4 @@
+ALTER TABLE Users ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE Items ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE Bookings ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE Request ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+CREATE SEQUENCE BOOKINGS_SEQ INCREMENT BY 50 OWNED BY Bookings.ID;
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(ID) FROM Bookings), 0) + 50);
+
+ALTER TABLE Bookings ALTER COLUMN ID DROP IDENTITY;
+ALTER TABLE Bookings ALTER COLUMN ID SET DEFAULT nextval('bookings_seq');
@@ -0,0 +1,19 @@
+CREATE SEQUENCE USERS_SEQ INCREMENT BY 50 OWNED BY Users.ID;
+SELECT setval('users_seq', COALESCE((SELECT MAX(ID) FROM Users), 0) + 50);
+ALTER TABLE Users ALTER COLUMN ID DROP IDENTITY;
+ALTER TABLE Users ALTER COLUMN ID SET DEFAULT nextval('users_seq');
+
+CREATE SEQUENCE ITEMS_SEQ INCREMENT BY 50 OWNED BY Items.ID;
+SELECT setval('items_seq', COALESCE((SELECT MAX(ID) FROM Items), 0) + 50);
+ALTER TABLE Items ALTER COLUMN ID DROP IDENTITY;
+ALTER TABLE Items ALTER COLUMN ID SET DEFAULT nextval('items_seq');
+
+CREATE SEQUENCE COMMENTS_SEQ INCREMENT BY 50 OWNED BY Comments.ID;
+SELECT setval('comments_seq', COALESCE((SELECT MAX(ID) FROM Comments), 0) + 50);
+ALTER TABLE Comments ALTER COLUMN ID DROP IDENTITY;
+ALTER TABLE Comments ALTER COLUMN ID SET DEFAULT nextval('comments_seq');
+
+CREATE SEQUENCE REQUEST_SEQ INCREMENT BY 50 OWNED BY Request.ID;
+SELECT setval('request_seq', COALESCE((SELECT MAX(ID) FROM Request), 0) + 50);
+ALTER TABLE Request ALTER COLUMN ID DROP IDENTITY;
+ALTER TABLE Request ALTER COLUMN ID SET DEFAULT nextval('request_seq');
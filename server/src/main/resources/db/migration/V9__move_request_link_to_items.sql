@@ -0,0 +1,5 @@
+ALTER TABLE Items ADD COLUMN REQUEST_ID BIGINT REFERENCES Request (ID);
+
+UPDATE Items AS i SET REQUEST_ID = r.ID FROM Request AS r WHERE r.ITEM_ID = i.ID;
+
+ALTER TABLE Request DROP COLUMN ITEM_ID;
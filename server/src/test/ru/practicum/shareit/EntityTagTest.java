@@ -0,0 +1,117 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.ItemService;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EntityTagTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(UserDto.create(null, "owner", UUID.randomUUID() + "@mail.ru"));
+        booker = userService.create(UserDto.create(null, "booker", UUID.randomUUID() + "@mail.ru"));
+        item = itemService.addItem(ItemDto.create(null, "drill", "cordless drill", true, null), owner.getId());
+    }
+
+    @Test
+    void userIsNotModifiedUntilUpdated() throws Exception {
+        String etag = etag("/users/" + owner.getId(), owner.getId());
+
+        mvc.perform(get("/users/{userId}", owner.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        userService.update(UserDto.create(null, "renamed", null), owner.getId());
+        mvc.perform(get("/users/{userId}", owner.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void itemTagChangesWithBookings() throws Exception {
+        String etag = etag("/items/" + item.getId(), owner.getId());
+
+        mvc.perform(get("/items/{itemId}", item.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto booking = BookingDto.create(null, item.getId(), null, null, start, start.plusDays(1), null);
+        bookingService.add(booker.getId(), booking);
+        assertNotEquals(etag, etag("/items/" + item.getId(), owner.getId()));
+    }
+
+    @Test
+    void bookingTagIsOnlyServedToParticipants() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto booking = bookingService.add(booker.getId(),
+                BookingDto.create(null, item.getId(), null, null, start, start.plusDays(1), null));
+        String etag = etag("/bookings/" + booking.getId(), booker.getId());
+
+        mvc.perform(get("/bookings/{bookingId}", booking.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        bookingService.approve(owner.getId(), booking.getId(), true);
+        mvc.perform(get("/bookings/{bookingId}", booking.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        UserDto stranger = userService.create(UserDto.create(null, "stranger", UUID.randomUUID() + "@mail.ru"));
+        mvc.perform(get("/bookings/{bookingId}", booking.getId())
+                        .header("X-Sharer-User-Id", stranger.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void onlyCachedListingsAreHashed() throws Exception {
+        etag("/items/search?text=drill&from=0&size=10", booker.getId());
+
+        mvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String etag(String path, long userId) throws Exception {
+        return mvc.perform(get(path).header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,306 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Calls every repository query against a seeded dataset, captures the statements Hibernate actually sends
+ * together with their bound parameters, and fails if {@code EXPLAIN} of any of them plans a sequential scan.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private static final Long USER = 1000007L;
+    private static final Long ITEM = 1000007L;
+    private static final List<Long> ITEMS = List.of(1000001L, 1000002L, 1000003L);
+    private static final Set<BookingStatus> ACTIVE = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final Pageable BOOKINGS_PAGE = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+    private static final Pageable BOOKINGS_SEEK = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+    private static final Pageable REQUESTS_PAGE = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "created", "id"));
+    private static final Pageable REQUESTS_SEEK = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created", "id"));
+
+    private static final List<CapturedStatement> captured = new ArrayList<>();
+    private static volatile boolean capturing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private RequestRepository requestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, name, email) " +
+                "SELECT 1000000 + g, 'user' || g, 'plan' || g || '@mail.ru' FROM generate_series(1, 2000) AS g");
+        jdbcTemplate.execute("INSERT INTO items (id, owner_id, is_available, description, name) " +
+                "SELECT 1000000 + g, 1000001 + g % 2000, g % 10 <> 0, md5((g * 7)::text), 'item ' || md5(g::text) " +
+                "FROM generate_series(1, 10000) AS g");
+        jdbcTemplate.execute("INSERT INTO bookings (id, booker_id, item_id, start_time, end_time, state) " +
+                "SELECT 1000000 + g, 1000001 + g % 2000, 1000001 + g % 10000, " +
+                "TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour', TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour' " +
+                "+ INTERVAL '2 hours', (ARRAY['WAITING', 'APPROVED', 'REJECTED'])[1 + g % 3] " +
+                "FROM generate_series(1, 100000) AS g");
+        jdbcTemplate.execute("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                "SELECT 1000000 + g, 'comment ' || g, 1000001 + g % 10000, 1000001 + g % 2000, " +
+                "TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour' FROM generate_series(1, 20000) AS g");
+        jdbcTemplate.execute("INSERT INTO request (id, requester_id, description, created) " +
+                "SELECT 1000000 + g, 1000001 + g % 2000, 'request ' || g, " +
+                "TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour' FROM generate_series(1, 5000) AS g");
+        jdbcTemplate.execute("ANALYZE users, items, bookings, comments, request");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryUsesIndexes(String query, RepositoryCall call) {
+        List<CapturedStatement> statements = capture(call);
+
+        assertFalse(statements.isEmpty(), query + " sent no statement");
+        for (CapturedStatement statement : statements) {
+            String plan = explain(statement);
+            assertFalse(plan.contains("Seq Scan"), query + " plans a sequential scan:\n" + statement.sql + "\n" + plan);
+        }
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                call("findByItem_IdOrderByStartDesc", t -> t.bookingRepository.findByItem_IdOrderByStartDesc(ITEM)),
+                call("findLastBooking", t -> t.bookingRepository.findLastBooking(ITEM, NOW)),
+                call("findNextBooking", t -> t.bookingRepository.findNextBooking(ITEM, NOW)),
+                call("findLastBookings", t -> t.bookingRepository.findLastBookings(ITEMS, NOW)),
+                call("findNextBookings", t -> t.bookingRepository.findNextBookings(ITEMS, NOW)),
+                call("existsByItem_IdAndStateInAndStartIsBeforeAndEndIsAfter", t -> t.bookingRepository
+                        .existsByItem_IdAndStateInAndStartIsBeforeAndEndIsAfter(ITEM, ACTIVE, NOW, NOW)),
+                call("findPeriods", t -> t.bookingRepository.findPeriods(ITEMS, ACTIVE, NOW, NOW.minusYears(1))),
+                call("findByBooker_IdOrderByStartDesc", t -> t.bookingRepository
+                        .findByBooker_IdOrderByStartDesc(USER, BOOKINGS_PAGE)),
+                call("findByItem_OwnerIdOrderByStartDesc", t -> t.bookingRepository
+                        .findByItem_OwnerIdOrderByStartDesc(USER, BOOKINGS_PAGE)),
+                call("findByBooker_IdAndState", t -> t.bookingRepository
+                        .findByBooker_IdAndState(USER, BookingStatus.WAITING, BOOKINGS_PAGE)),
+                call("findByItem_OwnerIdAndState", t -> t.bookingRepository
+                        .findByItem_OwnerIdAndState(USER, BookingStatus.WAITING, BOOKINGS_PAGE)),
+                call("findByBooker_IdAndStartIsAfterOrderByStartDesc", t -> t.bookingRepository
+                        .findByBooker_IdAndStartIsAfterOrderByStartDesc(USER, NOW, BOOKINGS_PAGE)),
+                call("findByItem_OwnerIdAndStartIsAfterOrderByStartDesc", t -> t.bookingRepository
+                        .findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(USER, NOW, BOOKINGS_PAGE)),
+                call("findByBooker_IdAndEndIsBeforeOrderByStartDesc", t -> t.bookingRepository
+                        .findByBooker_IdAndEndIsBeforeOrderByStartDesc(USER, NOW, BOOKINGS_PAGE)),
+                call("findByItem_OwnerIdAndEndIsBeforeOrderByStartDesc", t -> t.bookingRepository
+                        .findByItem_OwnerIdAndEndIsBeforeOrderByStartDesc(USER, NOW, BOOKINGS_PAGE)),
+                call("findByBooker_IdAndEndIsAfterAndStartIsBefore", t -> t.bookingRepository
+                        .findByBooker_IdAndEndIsAfterAndStartIsBefore(USER, NOW, NOW, BOOKINGS_PAGE)),
+                call("findByItem_OwnerIdAndEndIsAfterAndStartIsBefore", t -> t.bookingRepository
+                        .findByItem_OwnerIdAndEndIsAfterAndStartIsBefore(USER, NOW, NOW, BOOKINGS_PAGE)),
+                call("findByBookerIdBeforeCursor", t -> t.bookingRepository
+                        .findByBookerIdBeforeCursor(USER, NOW, 1050000L, BOOKINGS_SEEK)),
+                call("findByBookerIdAndStateBeforeCursor", t -> t.bookingRepository
+                        .findByBookerIdAndStateBeforeCursor(USER, NOW, 1050000L, BookingStatus.APPROVED, BOOKINGS_SEEK)),
+                call("findCurrentByBookerIdBeforeCursor", t -> t.bookingRepository
+                        .findCurrentByBookerIdBeforeCursor(USER, NOW, 1050000L, NOW, BOOKINGS_SEEK)),
+                call("findPastByBookerIdBeforeCursor", t -> t.bookingRepository
+                        .findPastByBookerIdBeforeCursor(USER, NOW, 1050000L, NOW, BOOKINGS_SEEK)),
+                call("findFutureByBookerIdBeforeCursor", t -> t.bookingRepository
+                        .findFutureByBookerIdBeforeCursor(USER, NOW.plusYears(1), 1060000L, NOW, BOOKINGS_SEEK)),
+                call("findByOwnerIdBeforeCursor", t -> t.bookingRepository
+                        .findByOwnerIdBeforeCursor(USER, NOW, 1050000L, BOOKINGS_SEEK)),
+                call("findByOwnerIdAndStateBeforeCursor", t -> t.bookingRepository
+                        .findByOwnerIdAndStateBeforeCursor(USER, NOW, 1050000L, BookingStatus.APPROVED, BOOKINGS_SEEK)),
+                call("findCurrentByOwnerIdBeforeCursor", t -> t.bookingRepository
+                        .findCurrentByOwnerIdBeforeCursor(USER, NOW, 1050000L, NOW, BOOKINGS_SEEK)),
+                call("findPastByOwnerIdBeforeCursor", t -> t.bookingRepository
+                        .findPastByOwnerIdBeforeCursor(USER, NOW, 1050000L, NOW, BOOKINGS_SEEK)),
+                call("findFutureByOwnerIdBeforeCursor", t -> t.bookingRepository
+                        .findFutureByOwnerIdBeforeCursor(USER, NOW.plusYears(1), 1060000L, NOW, BOOKINGS_SEEK)),
+                call("findByItem_OwnerIdAndId", t -> t.bookingRepository.findByItem_OwnerIdAndId(USER, 1000007L)),
+                call("bookings findVersionTag", t -> t.bookingRepository.findVersionTag(1000007L, USER)),
+                call("updateState", t -> t.bookingRepository
+                        .updateState(1000007L, USER, BookingStatus.WAITING, BookingStatus.APPROVED)),
+                call("updateWaitingStates", t -> t.bookingRepository
+                        .updateWaitingStates(USER, ITEMS, BookingStatus.APPROVED)),
+                call("findStates", t -> t.bookingRepository.findStates(USER, ITEMS)),
+                call("findByBookerAndItem", t -> t.bookingRepository
+                        .findByBookerAndItem(USER, ITEM, BookingStatus.APPROVED)),
+                call("findItemsByOwner", t -> t.itemRepository.findItemsByOwner(USER)),
+                call("findItemByNameAndDescription", t -> t.itemRepository
+                        .findItemByNameAndDescription("c4ca42", PageRequest.of(0, 10))),
+                call("findViewById", t -> t.itemRepository.findViewById(ITEM)),
+                call("items findVersionTag", t -> t.itemRepository.findVersionTag(ITEM, USER, NOW)),
+                call("findWithOwnerByRequestIdIn", t -> t.itemRepository.findWithOwnerByRequestIdIn(ITEMS)),
+                call("findByAvailableTrueAndIdGreaterThanOrderById", t -> t.itemRepository
+                        .findByAvailableTrueAndIdGreaterThanOrderById(1005000L, PageRequest.of(0, 100))),
+                call("findByIdForUpdate", t -> t.itemRepository.findByIdForUpdate(ITEM)),
+                call("findAllByIdForUpdate", t -> t.itemRepository.findAllByIdForUpdate(ITEMS)),
+                call("findAllByItemIdIn", t -> t.commentRepository.findAllByItemIdIn(ITEMS)),
+                call("findAllByRequesterId", t -> t.requestRepository.findAllByRequesterId(USER,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")))),
+                call("findAllByRequesterIdIsNot", t -> t.requestRepository
+                        .findAllByRequesterIdIsNot(USER, REQUESTS_PAGE)),
+                call("findOthersBeforeCursor", t -> t.requestRepository
+                        .findOthersBeforeCursor(USER, NOW.minusYears(5), 1003000L, REQUESTS_SEEK)),
+                call("requests findVersionTag", t -> t.requestRepository.findVersionTag(1000007L, USER)),
+                call("findVersionById", t -> t.userRepository.findVersionById(USER))
+        );
+    }
+
+    private static Arguments call(String query, RepositoryCall call) {
+        return Arguments.of(query, call);
+    }
+
+    private List<CapturedStatement> capture(RepositoryCall call) {
+        synchronized (captured) {
+            captured.clear();
+        }
+        capturing = true;
+        try {
+            call.run(this);
+        } finally {
+            capturing = false;
+        }
+        synchronized (captured) {
+            return new ArrayList<>(captured);
+        }
+    }
+
+    private String explain(CapturedStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql)) {
+                for (Object[] parameter : statement.parameters) {
+                    invoke(explain, (Method) parameter[0], (Object[]) parameter[1]);
+                }
+                List<String> lines = new ArrayList<>();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        lines.add(resultSet.getString(1));
+                    }
+                }
+                return String.join("\n", lines);
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws java.sql.SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof java.sql.SQLException) {
+                throw (java.sql.SQLException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(QueryPlanTest test);
+    }
+
+    private static final class CapturedStatement {
+        final String sql;
+        final List<Object[]> parameters = new ArrayList<>();
+
+        CapturedStatement(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    /**
+     * Wraps the data source so that every prepared statement is recorded with its parameter setters while
+     * {@link #capturing} is on.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? proxy(DataSource.class, bean, StatementCaptureConfig::onDataSource)
+                            : bean;
+                }
+            };
+        }
+
+        private static Object onDataSource(Object target, Method method, Object[] args) throws Throwable {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection ? proxy(Connection.class, result, StatementCaptureConfig::onConnection)
+                    : result;
+        }
+
+        private static Object onConnection(Object target, Method method, Object[] args) throws Throwable {
+            Object result = invoke(target, method, args);
+            if (capturing && result instanceof PreparedStatement && args != null && args[0] instanceof String) {
+                CapturedStatement statement = new CapturedStatement((String) args[0]);
+                return proxy(PreparedStatement.class, result, (ps, psMethod, psArgs) -> {
+                    if (psMethod.getName().startsWith("set") && psArgs != null && psArgs.length >= 2
+                            && psArgs[0] instanceof Integer) {
+                        statement.parameters.add(new Object[]{psMethod, psArgs});
+                    } else if (psMethod.getName().startsWith("execute")) {
+                        synchronized (captured) {
+                            captured.add(statement);
+                        }
+                    }
+                    return invoke(ps, psMethod, psArgs);
+                });
+            }
+            return result;
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> handler.handle(target, method, args)));
+        }
+
+        @FunctionalInterface
+        interface Handler {
+            Object handle(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
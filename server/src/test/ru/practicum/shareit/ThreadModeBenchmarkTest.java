@@ -0,0 +1,149 @@
+package ru.practicum.shareit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Load on {@code /bookings/owner} and {@code /items} with {@value #CONCURRENCY} requests in flight, once on
+ * platform threads and once on virtual threads. Virtual threads must keep at least {@value #MIN_THROUGHPUT_RATIO}
+ * of the platform throughput and must not pin a carrier thread for longer than {@value #PIN_THRESHOLD_MS} ms:
+ * <pre>
+ * mvn -pl server -Pvirtual-threads test -Dtest=ThreadModeBenchmarkTest -Dshareit.benchmark=true
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class ThreadModeBenchmarkTest {
+    private static final int CONCURRENCY = 1000;
+    private static final int REQUESTS = 20_000;
+    private static final long OWNER = 2_000_001;
+    private static final double MIN_THROUGHPUT_RATIO = 0.9;
+    private static final long PIN_THRESHOLD_MS = 5;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/bookings/owner?state=ALL&from=0&size=20", "/items"})
+    void virtualThreadsKeepUpWithPlatformThreads(String path) throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+        Result platform = measure("platform", path);
+        Result virtual;
+        Path events = Files.createTempFile("pinned", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(PIN_THRESHOLD_MS))
+                    .withStackTrace();
+            recording.start();
+            virtual = measure("virtual", path);
+            recording.stop();
+            recording.dump(events);
+        }
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(events);
+        Files.delete(events);
+
+        log.info("GET {}: platform {} req/s (p99 {} ms), virtual {} req/s (p99 {} ms), {} pinned", path,
+                platform.throughput, platform.p99Millis, virtual.throughput, virtual.p99Millis, pinned.size());
+        assertTrue(pinned.isEmpty(), "Carrier threads pinned:\n" + pinned);
+        assertTrue(virtual.throughput >= platform.throughput * MIN_THROUGHPUT_RATIO, String.format(
+                "virtual threads served %d req/s, platform threads %d req/s", virtual.throughput, platform.throughput));
+    }
+
+    private static Result measure(String threads, String path) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .run("--shareit.threads=" + threads, "--server.port=0")) {
+            seed(context.getBean(JdbcTemplate.class));
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+            try {
+                HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build();
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .header("X-Sharer-User-Id", String.valueOf(OWNER))
+                        .timeout(Duration.ofSeconds(60))
+                        .build();
+                run(client, request, new long[REQUESTS / 10]);
+
+                long[] latencies = new long[REQUESTS];
+                long started = System.nanoTime();
+                List<Integer> statuses = run(client, request, latencies);
+                long elapsed = System.nanoTime() - started;
+
+                long failed = statuses.stream().filter(status -> status != 200).count();
+                assertEquals(0, failed, failed + " requests did not return 200 on " + threads + " threads");
+                Arrays.sort(latencies);
+                return new Result(REQUESTS * 1_000_000_000L / elapsed, latencies[REQUESTS * 99 / 100] / 1_000_000);
+            } finally {
+                clientExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM bookings WHERE id > 2000000");
+        jdbcTemplate.update("DELETE FROM items WHERE id > 2000000");
+        jdbcTemplate.update("DELETE FROM users WHERE id > 2000000");
+        jdbcTemplate.execute("INSERT INTO users (id, name, email) " +
+                "SELECT 2000000 + g, 'user' || g, 'bench' || g || '@mail.ru' FROM generate_series(1, 100) AS g");
+        jdbcTemplate.execute("INSERT INTO items (id, owner_id, is_available, description, name) " +
+                "SELECT 2000000 + g, " + OWNER + ", true, 'description ' || g, 'item ' || g " +
+                "FROM generate_series(1, 50) AS g");
+        jdbcTemplate.execute("INSERT INTO bookings (id, booker_id, item_id, start_time, end_time, state) " +
+                "SELECT 2000000 + g, 2000002 + g % 99, 2000001 + g % 50, " +
+                "TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour', TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour' " +
+                "+ INTERVAL '2 hours', 'APPROVED' FROM generate_series(1, 5000) AS g");
+    }
+
+    private static List<Integer> run(HttpClient client, HttpRequest request, long[] latencies) {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<Integer>> responses = new ArrayList<>();
+        for (int i = 0; i < latencies.length; i++) {
+            int index = i;
+            inFlight.acquireUninterruptibly();
+            long sent = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    })
+                    .thenApply(HttpResponse::statusCode));
+        }
+        List<Integer> statuses = new ArrayList<>();
+        responses.forEach(response -> statuses.add(response.join()));
+        return statuses;
+    }
+
+    private static final class Result {
+        final long throughput;
+        final long p99Millis;
+
+        Result(long throughput, long p99Millis) {
+            this.throughput = throughput;
+            this.p99Millis = p99Millis;
+        }
+    }
+}
@@ -78,7 +78,7 @@ class BookingClientTest {
                 LocalDateTime.now(), BookingStatus.WAITING);
         this.server.expect(requestTo("http://localhost:9090/bookings?state=ALL&from=0&size=10"))
                 .andRespond(withSuccess("true", MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = bookingClient.getUserBookings(1L, "ALL", 0, 10);
+        ResponseEntity<Object> response = bookingClient.getUserBookings(1L, "ALL", 0, 10, null);
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
 
@@ -90,7 +90,7 @@ class BookingClientTest {
                 LocalDateTime.now(), BookingStatus.WAITING);
         this.server.expect(requestTo("http://localhost:9090/bookings/owner?state=ALL&from=0&size=10"))
                 .andRespond(withSuccess("true", MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = bookingClient.getAllOwnersBooking(1L, "ALL", 0, 10);
+        ResponseEntity<Object> response = bookingClient.getAllOwnersBooking(1L, "ALL", 0, 10, null);
         assertEquals(response.getStatusCode(), HttpStatus.OK);
     }
 }
\ No newline at end of file
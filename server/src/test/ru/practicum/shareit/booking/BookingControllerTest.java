@@ -272,7 +272,7 @@ class BookingControllerTest {
 
   /*  @Test
     void getUserBookings() throws Exception {
-        when(bookingService.getAllUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllUserBookings(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(new ResponseEntity<>(bookingDto, HttpStatus.OK));
 
         mvc.perform(MockMvcRequestBuilders.get("/bookings", bookingDto.getId())
@@ -294,7 +294,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookings() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -331,7 +331,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsWaiting() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -367,7 +367,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsApproved() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -403,7 +403,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsRejected() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -439,7 +439,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsCancelled() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -475,7 +475,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookingsWrongPaging() throws Exception {
-        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllOwnersBooking(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenAnswer(invocationOnMock -> {
                     Long userId = invocationOnMock.getArgument(0, Long.class);
                     String state = invocationOnMock.getArgument(1, String.class);
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.ItemService;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the booking endpoints against the real persistence layer with open-in-view disabled, so every
+ * association serialized into the response has to be fetched inside the service transaction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingEndpointTest {
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(UserDto.create(null, "owner", UUID.randomUUID() + "@mail.ru"));
+        booker = userService.create(UserDto.create(null, "booker", UUID.randomUUID() + "@mail.ru"));
+        item = itemService.addItem(ItemDto.create(null, "drill", "cordless drill", true, null), owner.getId());
+    }
+
+    @Test
+    void addAndGetSerializeItemOwnerAndBooker() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        String body = String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}",
+                item.getId(), start.format(formatter), start.plusDays(1).format(formatter));
+
+        String response = mvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.owner.id", is(owner.getId()), Long.class))
+                .andExpect(jsonPath("$.item.owner.name", is("owner")))
+                .andExpect(jsonPath("$.booker.id", is(booker.getId()), Long.class))
+                .andReturn().getResponse().getContentAsString();
+        long bookingId = JsonPath.<Number>read(response, "$.id").longValue();
+
+        mvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.owner.id", is(owner.getId()), Long.class))
+                .andExpect(jsonPath("$.item.owner.email", is(owner.getEmail())))
+                .andExpect(jsonPath("$.booker.id", is(booker.getId()), Long.class))
+                .andExpect(jsonPath("$.booker.name", is("booker")))
+                .andExpect(jsonPath("$.status", is("WAITING")));
+    }
+
+    @Test
+    void batchAddSerializesItemOwner() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+        String body = String.format("[{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}]",
+                item.getId(), start.format(formatter), start.plusDays(1).format(formatter));
+
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.item.owner.id", is(owner.getId()), Long.class))
+                .andExpect(jsonPath("$[0].booking.booker.id", is(booker.getId()), Long.class));
+    }
+}
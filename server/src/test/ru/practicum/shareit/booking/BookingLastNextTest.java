@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BookingLastNextTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+    }
+
+    @Test
+    void tiesOnStartAreBrokenById() {
+        Item item = item();
+        Booking firstPast = booking(item, NOW.minusDays(1), BookingStatus.APPROVED);
+        Booking secondPast = booking(item, NOW.minusDays(1), BookingStatus.APPROVED);
+        Booking firstNext = booking(item, NOW.plusDays(1), BookingStatus.WAITING);
+        booking(item, NOW.plusDays(1), BookingStatus.WAITING);
+        bookingRepository.flush();
+
+        assertTrue(firstPast.getId() < secondPast.getId());
+        assertLast(item, secondPast.getId());
+        assertNext(item, firstNext.getId());
+    }
+
+    @Test
+    void rejectedBookingsAreSkipped() {
+        Item item = item();
+        Booking approved = booking(item, NOW.minusDays(2), BookingStatus.APPROVED);
+        booking(item, NOW.minusDays(1), BookingStatus.REJECTED);
+        booking(item, NOW.plusDays(1), BookingStatus.REJECTED);
+        Booking waiting = booking(item, NOW.plusDays(2), BookingStatus.WAITING);
+        bookingRepository.flush();
+
+        assertLast(item, approved.getId());
+        assertNext(item, waiting.getId());
+    }
+
+    @Test
+    void bookingStartingNowIsTheLastOne() {
+        Item item = item();
+        booking(item, NOW.minusDays(1), BookingStatus.APPROVED);
+        Booking startingNow = booking(item, NOW, BookingStatus.APPROVED);
+        bookingRepository.flush();
+
+        assertLast(item, startingNow.getId());
+        assertFalse(bookingRepository.findNextBooking(item.getId(), NOW).isPresent());
+        assertTrue(bookingRepository.findNextBookings(List.of(item.getId()), NOW).isEmpty());
+    }
+
+    private void assertLast(Item item, Long bookingId) {
+        assertEquals(Optional.of(bookingId), bookingRepository.findLastBooking(item.getId(), NOW)
+                .map(BookingShortView::getId));
+        assertEquals(bookingId, byItem(bookingRepository.findLastBookings(List.of(item.getId()), NOW))
+                .get(item.getId()));
+    }
+
+    private void assertNext(Item item, Long bookingId) {
+        assertEquals(Optional.of(bookingId), bookingRepository.findNextBooking(item.getId(), NOW)
+                .map(BookingShortView::getId));
+        assertEquals(bookingId, byItem(bookingRepository.findNextBookings(List.of(item.getId()), NOW))
+                .get(item.getId()));
+    }
+
+    private static Map<Long, Long> byItem(List<BookingShortView> bookings) {
+        return bookings.stream().collect(Collectors.toMap(BookingShortView::getItemId, BookingShortView::getId));
+    }
+
+    private Item item() {
+        return itemRepository.save(Item.create(null, owner, true, "desc", "item", null));
+    }
+
+    private Booking booking(Item item, LocalDateTime start, BookingStatus state) {
+        return bookingRepository.save(Booking.create(null, item, booker, start, start.plusHours(1), state));
+    }
+
+    private static User user(String name) {
+        return User.create(null, name, name + "-" + UUID.randomUUID() + "@mail.ru");
+    }
+}
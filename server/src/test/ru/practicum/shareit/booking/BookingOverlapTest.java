@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.ItemsAvailabilityException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BookingOverlapTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        item = itemRepository.save(Item.create(null, owner, true, "desc", "drill", null));
+        start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.HOURS);
+        bookingRepository.save(Booking.create(null, item, userRepository.save(user("other")), start,
+                start.plusHours(48), BookingStatus.APPROVED));
+    }
+
+    @ParameterizedTest(name = "[{0}h, {1}h] accepted: {2}")
+    @CsvSource({
+            "-24, 0, true",
+            "48, 72, true",
+            "-24, 1, false",
+            "47, 72, false",
+            "-24, 72, false",
+            "1, 47, false",
+            "0, 48, false"
+    })
+    void overlapsWithActiveBookingAreRejected(long fromHours, long toHours, boolean accepted) {
+        BookingDto bookingDto = booking(start.plusHours(fromHours), start.plusHours(toHours));
+
+        if (accepted) {
+            assertNotNull(bookingService.add(booker.getId(), bookingDto).getId());
+        } else {
+            assertThrows(ItemsAvailabilityException.class, () -> bookingService.add(booker.getId(), bookingDto));
+        }
+    }
+
+    @Test
+    void rejectedAndCancelledBookingsDoNotBlockThePeriod() {
+        LocalDateTime later = start.plusDays(10);
+        bookingRepository.save(Booking.create(null, item, userRepository.save(user("rejected")), later,
+                later.plusHours(48), BookingStatus.REJECTED));
+        bookingRepository.save(Booking.create(null, item, userRepository.save(user("cancelled")), later,
+                later.plusHours(48), BookingStatus.CANCELLED));
+
+        assertNotNull(bookingService.add(booker.getId(), booking(later.plusHours(1), later.plusHours(47))).getId());
+    }
+
+    private BookingDto booking(LocalDateTime from, LocalDateTime to) {
+        return BookingDto.create(null, item.getId(), null, null, from, to, BookingStatus.WAITING);
+    }
+
+    private static User user(String name) {
+        return User.create(null, name, name + "-" + UUID.randomUUID() + "@mail.ru");
+    }
+}
@@ -0,0 +1,207 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.ItemsAvailabilityException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingServiceImplConcurrencyTest {
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 32;
+    private static final int BOOKERS = 10;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private final List<User> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        bookers.clear();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userRepository.save(user("booker" + i)));
+        }
+    }
+
+    @Test
+    void overlappingBookingsForSameItemAdmitOnlyOne() throws InterruptedException {
+        Item item = itemRepository.save(Item.create(null, owner, true, "desc", "item", null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            Long bookerId = bookers.get(i % BOOKERS).getId();
+            LocalDateTime bookingStart = start.plusMinutes(i % 30);
+            BookingDto bookingDto = BookingDto.create(null, item.getId(), null, null, bookingStart,
+                    bookingStart.plusHours(1), BookingStatus.WAITING);
+            executor.submit(() -> {
+                try {
+                    go.await();
+                    bookingService.add(bookerId, bookingDto);
+                    admitted.incrementAndGet();
+                } catch (ItemsAvailabilityException e) {
+                    rejected.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        go.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+
+        assertEquals(0, failed.get());
+        assertEquals(1, admitted.get());
+        assertEquals(REQUESTS - 1, rejected.get());
+        assertEquals(1, bookingRepository.findByItem_IdOrderByStartDesc(item.getId()).size());
+    }
+
+    @Test
+    void lockedItemDoesNotBlockBookingsOfOtherItems() throws Exception {
+        Item locked = itemRepository.save(Item.create(null, owner, true, "desc", "locked", null));
+        Item free = itemRepository.save(Item.create(null, owner, true, "desc", "free", null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto bookingDto = BookingDto.create(null, free.getId(), null, null, start, start.plusHours(1),
+                BookingStatus.WAITING);
+        CountDownLatch lockTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    itemRepository.findByIdForUpdate(locked.getId());
+                    lockTaken.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(lockTaken.await(30, TimeUnit.SECONDS));
+
+        BookingDto saved = CompletableFuture.supplyAsync(() -> bookingService.add(bookers.get(0).getId(), bookingDto))
+                .get(10, TimeUnit.SECONDS);
+        release.countDown();
+        holder.get(30, TimeUnit.SECONDS);
+
+        assertEquals(free.getId(), saved.getItemId());
+    }
+
+    @Test
+    void concurrentDecisionsOnBookingApplyOnlyOne() throws InterruptedException {
+        Item item = itemRepository.save(Item.create(null, owner, true, "desc", "item", null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = bookingRepository.save(Booking.create(null, item, bookers.get(0), start,
+                start.plusHours(1), BookingStatus.WAITING));
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < THREADS * 4; i++) {
+            boolean approved = i % 2 == 0;
+            executor.submit(() -> {
+                try {
+                    go.await();
+                    bookingService.approve(owner.getId(), booking.getId(), approved);
+                    applied.incrementAndGet();
+                } catch (ItemsAvailabilityException e) {
+                    rejected.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        go.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        Booking decided = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(0, failed.get());
+        assertEquals(1, applied.get());
+        assertEquals(THREADS * 4 - 1, rejected.get());
+        assertEquals(booking.getVersion() + 1, decided.getVersion());
+    }
+
+    @Test
+    void concurrentBulkApprovalsApplyEachBookingOnce() throws InterruptedException {
+        Item item = itemRepository.save(Item.create(null, owner, true, "desc", "fleet", null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            ids.add(bookingRepository.save(Booking.create(null, item, bookers.get(i), start.plusDays(i),
+                    start.plusDays(i).plusHours(1), BookingStatus.WAITING)).getId());
+        }
+        Map<Long, AtomicInteger> applied = new ConcurrentHashMap<>();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < THREADS * 4; i++) {
+            executor.submit(() -> {
+                try {
+                    go.await();
+                    bookingService.approveAll(owner.getId(), ids, true).stream()
+                            .filter(decision -> decision.getOutcome() == BookingDecisionDto.Outcome.APPLIED)
+                            .forEach(decision -> applied.computeIfAbsent(decision.getId(),
+                                    id -> new AtomicInteger()).incrementAndGet());
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        go.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(0, failed.get());
+        assertEquals(new HashSet<>(ids), applied.keySet());
+        applied.forEach((id, count) -> assertEquals(1, count.get(), "booking " + id + " applied more than once"));
+    }
+
+    private static User user(String name) {
+        return User.create(null, name, name + "-" + UUID.randomUUID() + "@mail.ru");
+    }
+}
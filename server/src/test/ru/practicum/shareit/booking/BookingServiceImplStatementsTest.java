@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BookingServiceImplStatementsTest {
+    private static final int PAGE = 100;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+    private User booker;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        LocalDateTime start = LocalDateTime.now().minusDays(PAGE);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            LocalDateTime bookingStart = start.plusDays(i);
+            Item ownersItem = itemRepository.save(Item.create(null, owner, true, "desc", "item" + i, null));
+            bookings.add(Booking.create(null, ownersItem, userRepository.save(user("booker" + i)), bookingStart,
+                    bookingStart.plusHours(1), BookingStatus.APPROVED));
+            Item othersItem = itemRepository.save(Item.create(null, userRepository.save(user("owner" + i)), true,
+                    "desc", "other" + i, null));
+            bookings.add(Booking.create(null, othersItem, booker, bookingStart, bookingStart.plusHours(1),
+                    BookingStatus.APPROVED));
+        }
+        bookingRepository.saveAll(bookings);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void ownerPageRunsAtMostTwoStatements() throws Exception {
+        List<BookingDto> page = bookingService.getAllOwnersBooking(owner.getId(), "ALL", 0, PAGE, null);
+        objectMapper.writeValueAsString(page);
+
+        assertEquals(PAGE, page.size());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Statements executed: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void bookerPageRunsAtMostTwoStatements() throws Exception {
+        List<BookingDto> page = bookingService.getAllUserBookings(booker.getId(), "PAST", 0, PAGE, null);
+        objectMapper.writeValueAsString(page);
+
+        assertEquals(PAGE, page.size());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Statements executed: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void offsetPagesStartAtTheExactRow() {
+        List<BookingDto> owners = bookingService.getAllOwnersBooking(owner.getId(), "ALL", 0, PAGE, null);
+        List<BookingDto> bookers = bookingService.getAllUserBookings(booker.getId(), "ALL", 0, PAGE, null);
+
+        assertEquals(ids(owners.subList(1, 3)),
+                ids(bookingService.getAllOwnersBooking(owner.getId(), "ALL", 1, 2, null)));
+        assertEquals(ids(bookers.subList(1, 3)),
+                ids(bookingService.getAllUserBookings(booker.getId(), "ALL", 1, 2, null)));
+    }
+
+    @Test
+    void bulkApprovalRunsAtMostTwoStatements() {
+        Item item = itemRepository.save(Item.create(null, owner, true, "desc", "fleet", null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> waiting = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            waiting.add(Booking.create(null, item, booker, start.plusDays(i), start.plusDays(i).plusHours(1),
+                    i == PAGE - 1 ? BookingStatus.REJECTED : BookingStatus.WAITING));
+        }
+        List<Long> ids = new ArrayList<>();
+        bookingRepository.saveAll(waiting).forEach(booking -> ids.add(booking.getId()));
+        ids.add(0, ids.get(PAGE - 1));
+        ids.add(-1L);
+        statistics.clear();
+
+        List<BookingDecisionDto> decisions = bookingService.approveAll(owner.getId(), ids, true);
+
+        assertEquals(PAGE + 1, decisions.size());
+        assertEquals(PAGE - 1, decisions.stream()
+                .filter(decision -> decision.getOutcome() == BookingDecisionDto.Outcome.APPLIED)
+                .filter(decision -> decision.getStatus() == BookingStatus.APPROVED)
+                .count());
+        assertEquals(BookingDecisionDto.Outcome.NOT_WAITING, decisions.get(0).getOutcome());
+        assertEquals(BookingStatus.REJECTED, decisions.get(0).getStatus());
+        assertEquals(BookingDecisionDto.Outcome.NOT_FOUND, decisions.get(PAGE).getOutcome());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Statements executed: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void batchCreationInsertsInJdbcBatches() {
+        Item item = itemRepository.save(Item.create(null, owner, true, "desc", "import", null));
+        Item unavailable = itemRepository.save(Item.create(null, owner, false, "desc", "broken", null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> bookingDtos = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            bookingDtos.add(BookingDto.create(null, item.getId(), null, null, start.plusDays(i),
+                    start.plusDays(i).plusHours(1), BookingStatus.WAITING));
+        }
+        bookingDtos.add(BookingDto.create(null, item.getId(), null, null, start.plusMinutes(30),
+                start.plusHours(2), BookingStatus.WAITING));
+        bookingDtos.add(BookingDto.create(null, unavailable.getId(), null, null, start, start.plusHours(1),
+                BookingStatus.WAITING));
+        bookingDtos.add(BookingDto.create(null, -1L, null, null, start, start.plusHours(1), BookingStatus.WAITING));
+        bookingDtos.add(BookingDto.create(null, item.getId(), null, null, null, start.plusHours(1),
+                BookingStatus.WAITING));
+        bookingDtos.add(BookingDto.create(null, item.getId(), null, null, start.plusHours(1), start,
+                BookingStatus.WAITING));
+        statistics.clear();
+
+        List<BookingBatchResultDto> results = bookingService.addAll(booker.getId(), bookingDtos);
+
+        assertEquals(PAGE + 5, results.size());
+        assertEquals(PAGE, results.stream().filter(result -> result.getBooking() != null).count());
+        assertTrue(results.get(PAGE).getError().contains("is booked for this period"));
+        assertTrue(results.get(PAGE + 1).getError().contains("is not available"));
+        assertTrue(results.get(PAGE + 2).getError().contains("not found"));
+        assertTrue(results.get(PAGE + 3).getError().contains("start must be before end"));
+        assertTrue(results.get(PAGE + 4).getError().contains("start must be before end"));
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "Statements executed: " + statistics.getPrepareStatementCount());
+    }
+
+    private static List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+
+    private static User user(String name) {
+        return User.create(null, name, name + "-" + UUID.randomUUID() + "@mail.ru");
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+class FlywayConfigTest {
+
+    @Test
+    void validateOnlyStrategyNeverMigrates() {
+        Flyway flyway = mock(Flyway.class);
+
+        new FlywayConfig().validateOnlyMigrationStrategy().migrate(flyway);
+
+        verify(flyway).validate();
+        verify(flyway, never()).migrate();
+    }
+}
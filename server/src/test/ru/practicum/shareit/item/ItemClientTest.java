@@ -74,9 +74,9 @@ class ItemClientTest {
     @Test
     void search() throws JsonProcessingException {
         ItemDto itemDto = ItemDto.create(1L, "Item 1", "", true, 1L);
-        this.server.expect(requestTo("http://localhost:9090/items/search?text=item"))
+        this.server.expect(requestTo("http://localhost:9090/items/search?text=item&from=0&size=10"))
                 .andRespond(withSuccess(mapper.writeValueAsString(itemDto.getName()), MediaType.APPLICATION_JSON));
-        ResponseEntity<Object> response = itemClient.search(1L, "item");
+        ResponseEntity<Object> response = itemClient.search(1L, "item", 0, 10);
         assertEquals(response.getStatusCode(), HttpStatus.OK);
         assertEquals(response.getBody().toString(), "Item 1");
     }
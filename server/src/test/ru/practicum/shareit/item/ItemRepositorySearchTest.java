@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ItemRepositorySearchTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void searchRanksNameMatchesFirstAndSkipsUnavailable() {
+        String word = UUID.randomUUID().toString().substring(0, 8);
+        User owner = userRepository.save(User.create(null, "owner", word + "@mail.ru"));
+        Item inDescription = itemRepository.save(Item.create(null, owner, true, "Has " + word, "Drill", null));
+        Item inName = itemRepository.save(Item.create(null, owner, true, "Cordless", word.toUpperCase(), null));
+        itemRepository.save(Item.create(null, owner, false, word, word, null));
+
+        List<Long> found = itemRepository.findItemByNameAndDescription(word, PageRequest.of(0, 10)).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        List<Long> secondPage = itemRepository.findItemByNameAndDescription(word, PageRequest.of(1, 1)).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(inName.getId(), inDescription.getId()), found);
+        assertEquals(List.of(inDescription.getId()), secondPage);
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentDTO;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemBookingHistoryDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.model.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ItemServiceImplStatementsTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Map<Long, Long> lastBookings = new HashMap<>();
+    private final Map<Long, Long> nextBookings = new HashMap<>();
+    private final Map<Long, List<String>> comments = new HashMap<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        lastBookings.clear();
+        nextBookings.clear();
+        comments.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void ownerListingAssignsEachItemItsOwnHistory() {
+        User owner = ownerWithItems(9);
+        statistics.clear();
+
+        List<ItemBookingHistoryDto> items = itemService.getUsersOwnItems(owner.getId());
+
+        assertEquals(9, items.size());
+        for (ItemBookingHistoryDto item : items) {
+            if (lastBookings.containsKey(item.getId())) {
+                assertEquals(lastBookings.get(item.getId()), item.getLastBooking().getId());
+                assertEquals(nextBookings.get(item.getId()), item.getNextBooking().getId());
+            } else {
+                assertNull(item.getLastBooking());
+                assertNull(item.getNextBooking());
+            }
+            assertEquals(comments.getOrDefault(item.getId(), List.of()), item.getComments().stream()
+                    .map(CommentDTO::getText)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void ownerListingRunsTheSameStatementsForAnyNumberOfItems() {
+        User smallOwner = ownerWithItems(3);
+        User largeOwner = ownerWithItems(30);
+
+        statistics.clear();
+        itemService.getUsersOwnItems(smallOwner.getId());
+        long small = statistics.getPrepareStatementCount();
+        statistics.clear();
+        itemService.getUsersOwnItems(largeOwner.getId());
+        long large = statistics.getPrepareStatementCount();
+
+        assertEquals(small, large);
+        assertEquals(4, large, "items, last bookings, next bookings and comments");
+    }
+
+    /**
+     * Every third item has no bookings, the others get one past and one future booking of their own; every
+     * other item gets a comment.
+     */
+    private User ownerWithItems(int count) {
+        User owner = userRepository.save(user("owner"));
+        User booker = userRepository.save(user("booker"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.create(null, owner, true, "desc", "item" + i, null));
+            if (i % 3 != 0) {
+                Booking past = bookingRepository.save(Booking.create(null, item, booker, now.minusDays(i + 1),
+                        now.minusDays(i + 1).plusHours(1), BookingStatus.APPROVED));
+                Booking future = bookingRepository.save(Booking.create(null, item, booker, now.plusDays(i + 1),
+                        now.plusDays(i + 1).plusHours(1), BookingStatus.APPROVED));
+                lastBookings.put(item.getId(), past.getId());
+                nextBookings.put(item.getId(), future.getId());
+            }
+            if (i % 2 == 0) {
+                User author = userRepository.save(user("author" + i));
+                commentRepository.save(Comment.create(null, "comment " + i, item, author, now));
+                comments.put(item.getId(), List.of("comment " + i));
+            }
+        }
+        return owner;
+    }
+
+    private static User user(String name) {
+        return User.create(null, name, name + "-" + UUID.randomUUID() + "@mail.ru");
+    }
+}
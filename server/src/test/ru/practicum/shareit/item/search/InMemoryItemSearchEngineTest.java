@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryItemSearchEngineTest {
+    private final User owner = User.create(1L, "owner", "owner@mail.ru");
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(anyLong(), any()))
+                .thenReturn(List.of(
+                        Item.create(1L, owner, true, "Cordless drill", "Drill", null),
+                        Item.create(2L, owner, true, "Hammer with drill mode", "Hammer", null),
+                        Item.create(3L, owner, true, "Long ladder", "Ladder", null)))
+                .thenReturn(List.of());
+        engine = new InMemoryItemSearchEngine(itemRepository);
+        engine.load();
+    }
+
+    @Test
+    void searchMatchesSubstringsAndRanksNameFirst() {
+        assertEquals(List.of(1L, 2L), ids(engine.search("dRiL", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(engine.search("drill", PageRequest.of(1, 1))));
+        assertEquals(List.of(3L), ids(engine.search("lad", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L, 2L, 3L), ids(engine.search("l", PageRequest.of(0, 10))));
+        assertTrue(engine.search("saw", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void indexKeepsOnlyAvailableItems() {
+        engine.index(Item.create(4L, owner, true, "Circular saw", "Saw", null));
+        engine.index(Item.create(1L, owner, false, "Cordless drill", "Drill", null));
+        engine.index(Item.create(3L, owner, true, "Step ladder", "Stepladder", null));
+
+        assertEquals(List.of(4L), ids(engine.search("saw", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(engine.search("drill", PageRequest.of(0, 10))));
+        assertEquals(List.of(3L), ids(engine.search("step", PageRequest.of(0, 10))));
+        assertTrue(engine.search("long", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
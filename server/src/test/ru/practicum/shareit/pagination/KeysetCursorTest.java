@@ -0,0 +1,43 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import javax.validation.ValidationException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeAndDecode() {
+        LocalDateTime time = LocalDateTime.of(2023, 1, 15, 10, 30, 5);
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(time, 42L).encode());
+
+        assertEquals(time, cursor.getTime());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void decodeInvalidCursor() {
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode("MTIz"));
+    }
+
+    @Test
+    void pageSetsHeaderOnlyWhenFull() {
+        LocalDateTime time = LocalDateTime.of(2023, 1, 15, 10, 30);
+        Function<Long, LocalDateTime> timeOf = id -> time.minusHours(id);
+
+        ResponseEntity<List<Long>> full = KeysetCursor.page(List.of(1L, 2L), 2, timeOf, Function.identity());
+        ResponseEntity<List<Long>> partial = KeysetCursor.page(List.of(1L), 2, timeOf, Function.identity());
+
+        KeysetCursor next = KeysetCursor.decode(full.getHeaders().getFirst(KeysetCursor.HEADER));
+        assertEquals(2L, next.getId());
+        assertEquals(time.minusHours(2), next.getTime());
+        assertFalse(partial.getHeaders().containsKey(KeysetCursor.HEADER));
+    }
+}
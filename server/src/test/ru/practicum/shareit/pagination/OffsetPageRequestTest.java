@@ -0,0 +1,29 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetPageRequestTest {
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start", "id");
+
+    @Test
+    void keepsNonAlignedOffset() {
+        Pageable page = OffsetPageRequest.of(1, 2, SORT);
+
+        assertEquals(1, page.getOffset());
+        assertEquals(2, page.getPageSize());
+        assertEquals(SORT, page.getSort());
+        assertEquals(3, page.next().getOffset());
+        assertEquals(0, page.previousOrFirst().getOffset());
+        assertTrue(page.hasPrevious());
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> OffsetPageRequest.of(-1, 2, SORT));
+        assertThrows(IllegalArgumentException.class, () -> OffsetPageRequest.of(0, 0, SORT));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.persistence;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SequenceBatchingTest {
+    private static final int ROWS = 200;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void usersAreInsertedInBatches() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            users.add(User.create(null, "user" + i, "user-" + UUID.randomUUID() + "@mail.ru"));
+        }
+
+        List<User> saved = userRepository.saveAll(users);
+
+        assertEquals(ROWS, saved.stream().map(User::getId).distinct().count());
+        assertTrue(statistics.getPrepareStatementCount() <= ROWS / 20,
+                "Statements executed: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void itemsAreInsertedInBatches() {
+        User owner = userRepository.save(User.create(null, "owner", "owner-" + UUID.randomUUID() + "@mail.ru"));
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(Item.create(null, owner, true, "desc", "item" + i, null));
+        }
+        statistics.clear();
+
+        List<Item> saved = itemRepository.saveAll(items);
+
+        assertEquals(ROWS, saved.stream().map(Item::getId).distinct().count());
+        assertTrue(statistics.getPrepareStatementCount() <= ROWS / 20,
+                "Statements executed: " + statistics.getPrepareStatementCount());
+    }
+}
@@ -51,7 +51,7 @@ class ItemRequestControllerTest {
         booker = User.create(2L, "booker", "booker@mail.ru");
         item = Item.create(1L, owner, true, "desc", "item 1", null);
         itemRequestDto = ItemRequestDto.create(1L, "desc", created, List.of(item));
-        itemRequest = ItemRequest.create(1L, "desc", created, owner, item);
+        itemRequest = ItemRequest.create(1L, "desc", created, owner);
     }
 
     @Test
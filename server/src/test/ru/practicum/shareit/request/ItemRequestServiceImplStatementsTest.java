@@ -0,0 +1,139 @@
+package ru.practicum.shareit.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ItemRequestServiceImplStatementsTest {
+    private static final int PAGE = 20;
+    private static final int ITEMS_PER_REQUEST = 2;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private RequestRepository requestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User requester;
+    private User other;
+    private final List<Long> requestIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        requester = userRepository.save(user("requester"));
+        requestIds.clear();
+        other = userRepository.save(user("other"));
+        for (int i = 0; i < PAGE; i++) {
+            ItemRequest request = requestRepository.save(ItemRequest.create(null, "request " + i,
+                    LocalDateTime.now(), requester));
+            requestIds.add(request.getId());
+            for (int j = 0; j < ITEMS_PER_REQUEST; j++) {
+                itemRepository.save(Item.create(null, userRepository.save(user("owner" + i + "-" + j)), true,
+                        "desc", "item" + i + "-" + j, request.getId()));
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void ownPageRunsAtMostTwoStatements() throws Exception {
+        List<ItemRequestDto> page = itemRequestService.getUsersAll(requester.getId(), 0, PAGE);
+        objectMapper.writeValueAsString(page);
+
+        assertEquals(PAGE, page.size());
+        for (ItemRequestDto request : page) {
+            assertEquals(ITEMS_PER_REQUEST, request.getItems().size());
+            request.getItems().forEach(item -> assertEquals(request.getId(), item.getRequestId()));
+        }
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Statements executed: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void othersPageRunsAtMostTwoStatements() throws Exception {
+        List<ItemRequestDto> page = itemRequestService.getOtherRequest(other.getId(), 0, PAGE, null);
+        objectMapper.writeValueAsString(page);
+
+        assertEquals(PAGE, page.size());
+        for (ItemRequestDto request : page) {
+            request.getItems().forEach(item -> assertEquals(request.getId(), item.getRequestId()));
+        }
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Statements executed: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void offsetPagesStartAtTheExactRow() {
+        List<ItemRequestDto> own = itemRequestService.getUsersAll(requester.getId(), 0, PAGE);
+        List<ItemRequestDto> others = itemRequestService.getOtherRequest(other.getId(), 0, PAGE, null);
+
+        assertEquals(ids(own.subList(1, 3)), ids(itemRequestService.getUsersAll(requester.getId(), 1, 2)));
+        assertEquals(ids(others.subList(1, 3)), ids(itemRequestService.getOtherRequest(other.getId(), 1, 2, null)));
+    }
+
+    @Test
+    void othersFeedWalksAllRequestsByCursor() {
+        Set<Long> seen = new HashSet<>();
+        ItemRequestDto previous = null;
+        List<ItemRequestDto> page = itemRequestService.getOtherRequest(other.getId(), 0, 7, null);
+        while (!page.isEmpty()) {
+            for (ItemRequestDto request : page) {
+                assertTrue(seen.add(request.getId()));
+                if (previous != null) {
+                    assertTrue(request.getCreated().isBefore(previous.getCreated()) ||
+                            request.getCreated().isEqual(previous.getCreated()) && request.getId() < previous.getId());
+                }
+                previous = request;
+            }
+            if (page.size() < 7) {
+                break;
+            }
+            String cursor = KeysetCursor.of(previous.getCreated(), previous.getId()).encode();
+            page = itemRequestService.getOtherRequest(other.getId(), 0, 7, cursor);
+        }
+
+        assertTrue(seen.containsAll(requestIds));
+    }
+
+    private static List<Long> ids(List<ItemRequestDto> requests) {
+        return requests.stream().map(ItemRequestDto::getId).collect(Collectors.toList());
+    }
+
+    private static User user(String name) {
+        return User.create(null, name, name + "-" + UUID.randomUUID() + "@mail.ru");
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.config.CacheConfig;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserCacheTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void lookupIsCachedAndUpdateEvicts() {
+        UserDto created = userService.create(UserDto.create(null, "user", UUID.randomUUID() + "@mail.ru"));
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+
+        userService.get(created.getId());
+        assertNotNull(users.get(created.getId()));
+
+        userService.update(UserDto.create(null, "renamed", null), created.getId());
+        assertNull(users.get(created.getId()));
+        assertEquals("renamed", userService.get(created.getId()).getName());
+        assertEquals("renamed", ((UserView) users.get(created.getId()).get()).getName());
+
+        userService.update(UserDto.create(null, "renamed again", null), created.getId());
+        assertEquals(2L, userRepository.findVersionById(created.getId()).orElseThrow());
+
+        userService.delete(created.getId());
+        assertNull(users.get(created.getId()));
+        assertTrue(userRepository.findViewById(created.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.validation;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NoSuchObjectException;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class EntityValidatorTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final EntityValidator entityValidator = new EntityValidator(userRepository);
+
+    @Test
+    void nonEmptyResultSkipsUserCheck() {
+        List<String> result = List.of("booking");
+
+        assertEquals(result, entityValidator.requireUserIfEmpty(1L, result));
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void emptyResultChecksUser() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(false);
+
+        assertEquals(List.of(), entityValidator.requireUserIfEmpty(1L, List.of()));
+        assertThrows(NoSuchObjectException.class, () -> entityValidator.requireUserIfEmpty(2L, List.of()));
+    }
+}